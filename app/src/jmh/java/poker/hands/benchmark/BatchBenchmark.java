@@ -0,0 +1,40 @@
+package poker.hands.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import poker.hands.ranking.BatchEvaluator;
+import poker.hands.ranking.VectorBatchEvaluator;
+
+import java.util.concurrent.TimeUnit;
+
+/* ranking of a batch of uniformly random five card masks on one thread, scalar against SIMD lanes */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+    static final int HANDS = 4096;
+
+    private long[] masks;
+    private final int[] strengths = new int[HANDS];
+
+    @Setup
+    public void setUp() {
+        masks = RandomHands.masks(HANDS, 42);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public int[] batchEvaluator() {
+        BatchEvaluator.strengthsOf(masks, strengths);
+        return strengths;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public int[] vectorBatchEvaluator() {
+        VectorBatchEvaluator.strengthsOf(masks, strengths);
+        return strengths;
+    }
+}
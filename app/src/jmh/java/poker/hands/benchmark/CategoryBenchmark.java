@@ -0,0 +1,56 @@
+package poker.hands.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import poker.hands.Card;
+import poker.hands.ranking.HandEvaluator;
+import poker.hands.ranking.LookupTableEvaluator;
+import poker.hands.ranking.RankingBuilder;
+import poker.hands.ranking.RankingCategory;
+
+import java.util.concurrent.TimeUnit;
+
+/* ranking of hands of a single category, so each depth of RankingBuilder's continueWith* chain is measured */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategoryBenchmark {
+    static final int HANDS = 256;
+
+    @Param({"HIGH_CARD", "PAIR", "TWO_PAIRS", "THREE_OF_A_KIND", "STRAIGHT", "FLUSH", "FULL_HOUSE", "FOUR_OF_A_KND", "STRAIGHT_FLUSH"})
+    public RankingCategory category;
+
+    private Card[][] cards;
+
+    @Setup
+    public void setUp() {
+        long[] masks = RandomHands.masksOf(category, HANDS, 42);
+        cards = new Card[HANDS][];
+        for (int i = 0; i < HANDS; i++)
+            cards[i] = RandomHands.cards(masks[i]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public void rankingBuilder(Blackhole blackhole) {
+        for (Card[] hand : cards)
+            blackhole.consume(new RankingBuilder(hand[0], hand[1], hand[2], hand[3], hand[4]).build());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public void handEvaluator(Blackhole blackhole) {
+        for (Card[] hand : cards)
+            blackhole.consume(HandEvaluator.strengthOf(hand[0], hand[1], hand[2], hand[3], hand[4]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public void lookupTableEvaluator(Blackhole blackhole) {
+        for (Card[] hand : cards)
+            blackhole.consume(LookupTableEvaluator.strengthOf(hand[0], hand[1], hand[2], hand[3], hand[4]));
+    }
+}
@@ -0,0 +1,88 @@
+package poker.hands.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import poker.hands.CardHand;
+import poker.hands.ranking.Ranking;
+import poker.hands.ranking.Strengths;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/* pairwise comparison of ranked hands and sorting of large hand lists */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComparisonBenchmark {
+    static final int PAIRS = 1024;
+
+    @Param({"100000"})
+    public int sortedHands;
+
+    private CardHand[] hands;
+    private Ranking[] rankings;
+    private int[] strengths;
+    private List<CardHand> handsToSort;
+    private int[] strengthsToSort;
+
+    @Setup
+    public void setUp() {
+        long[] masks = RandomHands.masks(PAIRS + 1, 42);
+        hands = new CardHand[masks.length];
+        rankings = new Ranking[masks.length];
+        strengths = new int[masks.length];
+        for (int i = 0; i < masks.length; i++) {
+            hands[i] = RandomHands.hand(masks[i]);
+            rankings[i] = hands[i].ranking();
+            strengths[i] = rankings[i].strength();
+        }
+
+        long[] masksToSort = RandomHands.masks(sortedHands, 7);
+        handsToSort = new ArrayList<>(sortedHands);
+        strengthsToSort = new int[sortedHands];
+        for (int i = 0; i < sortedHands; i++) {
+            handsToSort.add(RandomHands.hand(masksToSort[i]));
+            strengthsToSort[i] = handsToSort.get(i).ranking().strength();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void compareCardHands(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++)
+            blackhole.consume(hands[i].compareTo(hands[i + 1]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void compareRankings(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++)
+            blackhole.consume(rankings[i].compareTo(rankings[i + 1]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void compareStrengths(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++)
+            blackhole.consume(Strengths.compare(strengths[i], strengths[i + 1]));
+    }
+
+    @Benchmark
+    public List<CardHand> sortCardHands() {
+        List<CardHand> sorted = new ArrayList<>(handsToSort);
+        sorted.sort(null);
+        return sorted;
+    }
+
+    @Benchmark
+    public int[] sortStrengths() {
+        int[] sorted = strengthsToSort.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
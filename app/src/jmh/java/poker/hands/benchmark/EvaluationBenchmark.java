@@ -0,0 +1,68 @@
+package poker.hands.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import poker.hands.Card;
+import poker.hands.CardHand;
+import poker.hands.ranking.HandEvaluator;
+import poker.hands.ranking.LookupTableEvaluator;
+import poker.hands.ranking.RankingBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/* ranking of uniformly random five card hands, i.e. mostly high cards and pairs */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+    static final int HANDS = 1024;
+
+    private long[] masks;
+    private Card[][] cards;
+
+    @Setup
+    public void setUp() {
+        masks = RandomHands.masks(HANDS, 42);
+        cards = new Card[HANDS][];
+        for (int i = 0; i < HANDS; i++)
+            cards[i] = RandomHands.cards(masks[i]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public void rankingBuilder(Blackhole blackhole) {
+        for (Card[] hand : cards)
+            blackhole.consume(new RankingBuilder(hand[0], hand[1], hand[2], hand[3], hand[4]).build());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public void cardHand(Blackhole blackhole) {
+        for (Card[] hand : cards)
+            blackhole.consume(new CardHand(hand[0], hand[1], hand[2], hand[3], hand[4]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public void handEvaluator(Blackhole blackhole) {
+        for (Card[] hand : cards)
+            blackhole.consume(HandEvaluator.strengthOf(hand[0], hand[1], hand[2], hand[3], hand[4]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public void handEvaluatorOnMasks(Blackhole blackhole) {
+        for (long mask : masks)
+            blackhole.consume(HandEvaluator.strengthOf(mask));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(HANDS)
+    public void lookupTableEvaluator(Blackhole blackhole) {
+        for (Card[] hand : cards)
+            blackhole.consume(LookupTableEvaluator.strengthOf(hand[0], hand[1], hand[2], hand[3], hand[4]));
+    }
+}
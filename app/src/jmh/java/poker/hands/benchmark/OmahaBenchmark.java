@@ -0,0 +1,86 @@
+package poker.hands.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import poker.hands.CardMasks;
+import poker.hands.ranking.HandEvaluator;
+import poker.hands.ranking.OmahaEvaluator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/* four way showdowns on random boards, one operation per board: Omaha (the board prepared once, then all players)
+against Texas Hold'em with the same number of players and the naive Omaha search over all 60 combinations */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OmahaBenchmark {
+    static final int DEALS = 1024;
+    static final int PLAYERS = 4;
+
+    private long[] boards;
+    private long[][] omahaHoleCards;
+    private long[][] holdemHoleCards;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        boards = new long[DEALS];
+        omahaHoleCards = new long[DEALS][PLAYERS];
+        holdemHoleCards = new long[DEALS][PLAYERS];
+        for (int deal = 0; deal < DEALS; deal++) {
+            long dealt = boards[deal] = draw(random, 5, 0L);
+            for (int player = 0; player < PLAYERS; player++) {
+                dealt |= omahaHoleCards[deal][player] = draw(random, 4, dealt);
+                holdemHoleCards[deal][player] = Long.lowestOneBit(omahaHoleCards[deal][player])
+                        | Long.highestOneBit(omahaHoleCards[deal][player]);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DEALS)
+    public void holdem(Blackhole blackhole) {
+        for (int deal = 0; deal < DEALS; deal++)
+            for (long holeCards : holdemHoleCards[deal])
+                blackhole.consume(HandEvaluator.strengthOf(boards[deal] | holeCards));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DEALS)
+    public void omahaEvaluator(Blackhole blackhole) {
+        OmahaEvaluator evaluator = new OmahaEvaluator();
+        for (int deal = 0; deal < DEALS; deal++) {
+            evaluator.prepare(boards[deal]);
+            for (long holeCards : omahaHoleCards[deal])
+                blackhole.consume(evaluator.strengthOf(holeCards));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DEALS)
+    public void omahaAllCombinations(Blackhole blackhole) {
+        for (int deal = 0; deal < DEALS; deal++)
+            for (long holeCards : omahaHoleCards[deal]) {
+                int best = 0;
+                for (long first = holeCards; first != 0; first &= first - 1)
+                    for (long second = first & first - 1; second != 0; second &= second - 1)
+                        for (long a = boards[deal]; a != 0; a &= a - 1)
+                            for (long b = a & a - 1; b != 0; b &= b - 1)
+                                for (long c = b & b - 1; c != 0; c &= c - 1)
+                                    best = Math.max(best, HandEvaluator.strengthOf(Long.lowestOneBit(first) | Long.lowestOneBit(second)
+                                            | Long.lowestOneBit(a) | Long.lowestOneBit(b) | Long.lowestOneBit(c)));
+                blackhole.consume(best);
+            }
+    }
+
+    private static long draw(SplittableRandom random, int count, long dealt) {
+        long cards = 0L;
+        while (Long.bitCount(cards) < count)
+            cards |= 1L << random.nextInt(CardMasks.CARDS) & ~dealt;
+        return cards;
+    }
+}
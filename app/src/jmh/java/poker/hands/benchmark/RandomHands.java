@@ -0,0 +1,60 @@
+package poker.hands.benchmark;
+
+import poker.hands.Card;
+import poker.hands.CardHand;
+import poker.hands.CardMasks;
+import poker.hands.ranking.HandEvaluator;
+import poker.hands.ranking.RankingCategory;
+import poker.hands.ranking.Strengths;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/* reproducible random hands for the benchmarks, as masks (see CardMasks) */
+final class RandomHands {
+    private RandomHands() {
+    }
+
+    static long[] masks(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] masks = new long[count];
+        for (int i = 0; i < count; i++)
+            masks[i] = randomMask(random);
+        return masks;
+    }
+
+    /* hands of the given category only; rare categories are found by drawing until enough are found */
+    static long[] masksOf(RankingCategory category, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] masks = new long[count];
+        for (int found = 0; found < count; ) {
+            long mask = category == RankingCategory.STRAIGHT_FLUSH ? randomStraightFlush(random) : randomMask(random);
+            if (Strengths.categoryOf(HandEvaluator.strengthOf(mask)) == category)
+                masks[found++] = mask;
+        }
+        return masks;
+    }
+
+    static Card[] cards(long mask) {
+        return CardMasks.cardsOf(mask).toArray(Card[]::new);
+    }
+
+    static CardHand hand(long mask) {
+        List<Card> cards = CardMasks.cardsOf(mask);
+        return new CardHand(cards.get(0), cards.get(1), cards.get(2), cards.get(3), cards.get(4));
+    }
+
+    private static long randomMask(SplittableRandom random) {
+        long mask = 0L;
+        while (Long.bitCount(mask) < 5)
+            mask |= 1L << random.nextInt(CardMasks.CARDS);
+        return mask;
+    }
+
+    // straight flushes are too rare (1 in 65,000 hands) to be drawn at random
+    private static long randomStraightFlush(SplittableRandom random) {
+        int lowestValue = random.nextInt(CardMasks.VALUES_PER_SUIT - 4);
+        int suit = random.nextInt(4);
+        return 0b11111L << (suit * CardMasks.VALUES_PER_SUIT + lowestValue);
+    }
+}
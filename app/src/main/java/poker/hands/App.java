@@ -0,0 +1,85 @@
+package poker.hands;
+
+import poker.hands.io.HandComparisonPrinter;
+import poker.hands.io.HandFileRanker;
+import poker.hands.io.HandNotationParser;
+import poker.hands.server.EvaluationClient;
+import poker.hands.server.EvaluationServer;
+import poker.hands.server.LoadGenerator;
+import poker.hands.server.Protocol;
+import poker.hands.simulation.DealSimulator;
+import poker.hands.simulation.SimulationStatistics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.SocketAddress;
+import java.nio.file.Path;
+
+public class App {
+    private static final String USAGE = """
+            usage:
+              rank <hand file> [<strength file>]    ranks a binary hand file (5 card index bytes per hand)
+                                                    into a file of int strengths (default: <hand file>.strengths)
+              compare <text file>                   prints the winner of each line of two hands in README notation,
+                                                    e.g. Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C AH
+              serve <port | socket path>            serves binary evaluation requests on a loopback port or a Unix
+                                                    domain socket until stopped (see poker.hands.server.Protocol)
+              load <port | socket path> [<connections> [<requests per connection>]]
+                                                    sends random requests to a server (default: 64 x 10000)
+              simulate <players> <tables> <hands per table> [<seed>]
+                                                    deals Hold'em hands at independent tables and prints category
+                                                    frequencies and win rates per seat; the same seed replays a run""";
+    private static final int DEFAULT_LOAD_CONNECTIONS = 64;
+    private static final int DEFAULT_LOAD_REQUESTS = 10_000;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length >= 2 && args.length <= 3 && args[0].equals("rank")) {
+            Path handFile = Path.of(args[1]);
+            Path strengthFile = args.length == 3 ? Path.of(args[2]) : Path.of(args[1] + ".strengths");
+            long startNanos = System.nanoTime();
+            long hands = new HandFileRanker().rank(handFile, strengthFile);
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            System.out.printf("ranked %d hands in %.1f s (%.0f hands/s) into %s%n", hands, seconds, hands / seconds, strengthFile);
+        } else if (args.length == 2 && args[0].equals("compare")) {
+            PrintWriter results = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16));
+            PrintWriter errors = new PrintWriter(System.err, true);
+            HandComparisonPrinter printer = new HandComparisonPrinter(results, errors);
+            new HandNotationParser(printer).parse(Path.of(args[1]));
+            results.flush();
+            if (printer.malformedLines() > 0)
+                errors.println(printer.malformedLines() + " malformed lines skipped");
+        } else if (args.length == 2 && args[0].equals("serve")) {
+            EvaluationServer server = EvaluationServer.start(Protocol.localAddress(args[1]));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    server.close();
+                } catch (IOException e) {
+                    System.err.println("can't close server: " + e);
+                }
+            }));
+            System.out.printf("serving on %s with %s threads%n", server.address(), EvaluationServer.usesVirtualThreads() ? "virtual" : "platform");
+            server.awaitClose();
+        } else if (args.length >= 2 && args.length <= 4 && args[0].equals("load")) {
+            int connections = args.length >= 3 ? Integer.parseInt(args[2]) : DEFAULT_LOAD_CONNECTIONS;
+            int requests = args.length == 4 ? Integer.parseInt(args[3]) : DEFAULT_LOAD_REQUESTS;
+            SocketAddress address = Protocol.localAddress(args[1]);
+            System.out.println(new LoadGenerator(address, connections, requests).run(System.nanoTime()));
+            try (EvaluationClient client = EvaluationClient.connect(address)) {
+                System.out.println("server: " + client.stats());
+            }
+        } else if (args.length >= 4 && args.length <= 5 && args[0].equals("simulate")) {
+            long seed = args.length == 5 ? Long.parseLong(args[4]) : System.nanoTime();
+            DealSimulator simulator = new DealSimulator(Integer.parseInt(args[1]), seed);
+            long startNanos = System.nanoTime();
+            SimulationStatistics statistics = simulator.run(Integer.parseInt(args[2]), Long.parseLong(args[3]));
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            System.out.print(statistics);
+            System.out.printf("seed %d, %.1f s (%.0f hands/s)%n", seed, seconds, statistics.hands() / seconds);
+        } else {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+    }
+}
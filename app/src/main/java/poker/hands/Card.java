@@ -1,6 +1,13 @@
 package poker.hands;
 
 public record Card(CardSuit suit, CardValue value) {
+    private static final Card[] BY_INDEX = new Card[CardMasks.CARDS];
+
+    static {
+        for (CardSuit suit : CardSuit.values())
+            for (CardValue value : CardValue.values())
+                BY_INDEX[CardMasks.indexOf(suit, value)] = new Card(suit, value);
+    }
 
     /* convenience methods for generation of cards */
     public static Card clubs(CardValue value) {
@@ -19,6 +26,17 @@ public record Card(CardSuit suit, CardValue value) {
         return new Card(CardSuit.SPADES, value);
     }
 
+    /* compact form: index 0-51, see CardMasks */
+    public int index() {
+        return CardMasks.indexOf(suit, value);
+    }
+
+    public static Card ofIndex(int index) {
+        if (index < 0 || index >= BY_INDEX.length)
+            throw new IllegalArgumentException("no card index " + index + ", expected 0-" + (BY_INDEX.length - 1));
+        return BY_INDEX[index];
+    }
+
     @Override
     public String toString() {
         return suit + "(" + value + ')';
@@ -1,9 +1,11 @@
 package poker.hands;
 
+import poker.hands.ranking.EvaluationCache;
 import poker.hands.ranking.Ranking;
 import poker.hands.ranking.RankingBuilder;
 
 import java.util.Arrays;
+import java.util.List;
 
 public class CardHand implements Comparable<CardHand> {
     private final Card[] cards;
@@ -14,6 +16,39 @@ public class CardHand implements Comparable<CardHand> {
         this.ranking = new RankingBuilder(first, second, third, fourth, fifth).build();
     }
 
+    private CardHand(List<Card> cards, Ranking ranking) {
+        this.cards = cards.toArray(Card[]::new);
+        this.ranking = ranking;
+    }
+
+    public static CardHand ofMask(long mask) {
+        checkMask(mask);
+        List<Card> cards = CardMasks.cardsOf(mask);
+        return new CardHand(cards.get(0), cards.get(1), cards.get(2), cards.get(3), cards.get(4));
+    }
+
+    /* ranked by the cache instead of RankingBuilder, for repetitive hands */
+    public static CardHand ofMask(long mask, EvaluationCache cache) {
+        checkMask(mask);
+        return new CardHand(CardMasks.cardsOf(mask), cache.evaluate(mask));
+    }
+
+    private static void checkMask(long mask) {
+        if (mask >>> CardMasks.CARDS != 0)
+            throw new IllegalArgumentException("not a card mask: " + Long.toHexString(mask));
+        if (Long.bitCount(mask) != 5)
+            throw new IllegalArgumentException("a hand consists of 5 cards, got " + Long.bitCount(mask));
+    }
+
+    public Ranking ranking() {
+        return ranking;
+    }
+
+    /* compact form, see CardMasks */
+    public long mask() {
+        return CardMasks.maskOf(cards);
+    }
+
     @Override
     public int compareTo(CardHand other) {
         return ranking.compareTo(other.ranking);
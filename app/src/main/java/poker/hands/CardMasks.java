@@ -0,0 +1,50 @@
+package poker.hands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/* compact encoding of cards and hands: a card is an index 0-51 (suit ordinal * 13 + value ordinal), a hand is a
+long with the bits of its cards' indices set. So the 13 bit values mask of a suit can be read with a single shift
+ */
+public final class CardMasks {
+    public static final int VALUES_PER_SUIT = CardValue.values().length;
+    public static final int CARDS = CardSuit.values().length * VALUES_PER_SUIT;
+    public static final int SUIT_VALUES_MASK = (1 << VALUES_PER_SUIT) - 1;
+
+    private CardMasks() {
+    }
+
+    public static int indexOf(CardSuit suit, CardValue value) {
+        return suit.ordinal() * VALUES_PER_SUIT + value.ordinal();
+    }
+
+    public static long maskOf(Card... cards) {
+        long mask = 0L;
+        for (Card card : cards)
+            mask |= 1L << card.index();
+        return mask;
+    }
+
+    public static List<Card> cardsOf(long mask) {
+        List<Card> cards = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1)
+            cards.add(Card.ofIndex(Long.numberOfTrailingZeros(remaining)));
+        return cards;
+    }
+
+    /* values (bit n stands for the value with ordinal n) of the cards of the given suit */
+    public static int valuesOf(long mask, CardSuit suit) {
+        return (int) (mask >>> (suit.ordinal() * VALUES_PER_SUIT)) & SUIT_VALUES_MASK;
+    }
+
+    /* one step of a partial Fisher-Yates shuffle of card indices in place: moves a random card of the positions
+    [position, deck.length) to position and returns it, so the first cards of the deck are the dealt ones */
+    public static int draw(int[] deck, int position, SplittableRandom random) {
+        int swapPosition = position + random.nextInt(deck.length - position);
+        int card = deck[swapPosition];
+        deck[swapPosition] = deck[position];
+        deck[position] = card;
+        return card;
+    }
+}
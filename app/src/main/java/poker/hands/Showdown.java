@@ -0,0 +1,127 @@
+package poker.hands;
+
+import poker.hands.ranking.HandEvaluator;
+import poker.hands.ranking.Ranking;
+import poker.hands.ranking.Strengths;
+
+import java.util.Arrays;
+import java.util.List;
+
+/* outcome of a showdown of any number of players: each hand is evaluated once, then the players are sorted by strength
+in one primitive sort and grouped by equal ranking. Group 0 are the winners, who split the pot, the following groups
+are e.g. needed to settle side pots
+ */
+public final class Showdown {
+    private final int[] strengths;
+    private final int[] order; // players, best first and ties by player index
+    private final int[] groupStarts; // index into order per group, followed by the number of players
+    private final int[] places; // group per player
+
+    private Showdown(int[] strengths) {
+        if (strengths.length == 0)
+            throw new IllegalArgumentException("a showdown needs at least one player");
+        this.strengths = strengths;
+        this.order = new int[strengths.length];
+        this.places = new int[strengths.length];
+
+        // strength in the upper half, inverted player in the lower half: sorted ascending, the last key is the best
+        long[] keys = new long[strengths.length];
+        for (int player = 0; player < strengths.length; player++)
+            keys[player] = (long) strengths[player] << Integer.SIZE | ~player & 0xFFFF_FFFFL;
+        Arrays.sort(keys);
+
+        int[] starts = new int[strengths.length + 1];
+        int groups = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int player = ~(int) keys[keys.length - 1 - i];
+            order[i] = player;
+            if (i == 0 || strengths[player] != strengths[order[i - 1]])
+                starts[groups++] = i;
+            places[player] = groups - 1;
+        }
+        starts[groups] = strengths.length;
+        this.groupStarts = Arrays.copyOf(starts, groups + 1);
+    }
+
+    public static Showdown of(CardHand... hands) {
+        return of(List.of(hands));
+    }
+
+    public static Showdown of(List<CardHand> hands) {
+        int[] strengths = new int[hands.size()];
+        for (int player = 0; player < strengths.length; player++)
+            strengths[player] = hands.get(player).ranking().strength();
+        return new Showdown(strengths);
+    }
+
+    /* players' cards and a shared board in compact form (see CardMasks); each player has five to seven cards including
+    the board and no card may be dealt twice. The board may be 0, e.g. for five card draw */
+    public static Showdown ofMasks(long board, long... playerCards) {
+        int[] strengths = new int[playerCards.length];
+        long dealt = board;
+        for (int player = 0; player < strengths.length; player++) {
+            if ((dealt & playerCards[player]) != 0)
+                throw new IllegalArgumentException("cards dealt twice: " + CardMasks.cardsOf(dealt & playerCards[player]));
+            dealt |= playerCards[player];
+            strengths[player] = HandEvaluator.strengthOf(board | playerCards[player]);
+        }
+        return new Showdown(strengths);
+    }
+
+    /* already evaluated hands, see Strengths */
+    public static Showdown ofStrengths(int... strengths) {
+        return new Showdown(strengths.clone());
+    }
+
+    public int players() {
+        return strengths.length;
+    }
+
+    public int strength(int player) {
+        return strengths[player];
+    }
+
+    public Ranking ranking(int player) {
+        return Strengths.rankingOf(strengths[player]);
+    }
+
+    /* the players sharing the pot */
+    public int[] winners() {
+        return group(0);
+    }
+
+    public boolean isSplit() {
+        return groupStarts[1] > 1;
+    }
+
+    /* number of distinct rankings */
+    public int groups() {
+        return groupStarts.length - 1;
+    }
+
+    /* players with the same ranking, ordered by player; group 0 has the best ranking */
+    public int[] group(int group) {
+        return Arrays.copyOfRange(order, groupStarts[group], groupStarts[group + 1]);
+    }
+
+    /* group of the player, i.e. the number of better rankings */
+    public int placeOf(int player) {
+        return places[player];
+    }
+
+    /* all players, best first */
+    public int[] order() {
+        return order.clone();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("Showdown(");
+        for (int group = 0; group < groups(); group++) {
+            if (group > 0)
+                result.append(" > ");
+            result.append(Arrays.toString(group(group)));
+        }
+        return result.append(')').toString();
+    }
+}
@@ -0,0 +1,82 @@
+package poker.hands.equity;
+
+/* win/tie counts and pot shares per player, summed up over showdowns */
+final class EquityAccumulator {
+    private final long[] wins;
+    private final long[] ties;
+    private final double[] shares;
+    private final double[] squaredShares;
+    private long showdowns;
+
+    EquityAccumulator(int players) {
+        this.wins = new long[players];
+        this.ties = new long[players];
+        this.shares = new double[players];
+        this.squaredShares = new double[players];
+    }
+
+    /* one showdown of the given strengths (indexed by player), weighted by the number of equivalent showdowns */
+    void add(int[] strengths, long weight) {
+        int best = Integer.MIN_VALUE;
+        int winners = 0;
+        for (int strength : strengths) {
+            if (strength > best) {
+                best = strength;
+                winners = 1;
+            } else if (strength == best)
+                winners++;
+        }
+        double share = 1.0 / winners;
+        for (int player = 0; player < strengths.length; player++) {
+            if (strengths[player] != best)
+                continue;
+            if (winners == 1)
+                wins[player] += weight;
+            else
+                ties[player] += weight;
+            shares[player] += share * weight;
+            squaredShares[player] += share * share * weight;
+        }
+        showdowns += weight;
+    }
+
+    void addAll(EquityAccumulator other) {
+        for (int player = 0; player < wins.length; player++) {
+            wins[player] += other.wins[player];
+            ties[player] += other.ties[player];
+            shares[player] += other.shares[player];
+            squaredShares[player] += other.squaredShares[player];
+        }
+        showdowns += other.showdowns;
+    }
+
+    long showdowns() {
+        return showdowns;
+    }
+
+    /* standard error of the mean share, estimated from the sampled showdowns */
+    double standardError(int player) {
+        if (showdowns < 2)
+            return Double.POSITIVE_INFINITY;
+        double mean = shares[player] / showdowns;
+        double variance = Math.max(0, squaredShares[player] / showdowns - mean * mean);
+        return Math.sqrt(variance / (showdowns - 1));
+    }
+
+    double maxStandardError() {
+        double max = 0;
+        for (int player = 0; player < wins.length; player++)
+            max = Math.max(max, standardError(player));
+        return max;
+    }
+
+    EquityResult toResult(boolean exact) {
+        double[] equities = new double[wins.length];
+        double[] standardErrors = new double[wins.length];
+        for (int player = 0; player < wins.length; player++) {
+            equities[player] = showdowns == 0 ? 0 : shares[player] / showdowns;
+            standardErrors[player] = exact ? 0 : standardError(player);
+        }
+        return new EquityResult(showdowns, wins, ties, equities, standardErrors);
+    }
+}
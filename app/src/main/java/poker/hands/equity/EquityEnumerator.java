@@ -0,0 +1,126 @@
+package poker.hands.equity;
+
+import poker.hands.CardMasks;
+import poker.hands.ranking.HandEvaluator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/* exact Texas Hold'em equity by walking every completion of the board (and of unknown hole cards), the boards in
+parallel (see RunOuts).
+Suit isomorphism: swapping suits, that are used the same way by all known cards (e.g. the two suits nobody holds),
+maps each completion to one with the same outcome. So only the smallest board of each group of such equivalent
+boards is evaluated, counted as often as the group has members
+ */
+public class EquityEnumerator {
+    private static final int SUITS = 4;
+
+    private final HoldemDeal deal;
+    private final int[][] suitSymmetries;
+    private final int[] deck;
+
+    /* hole cards per player and board in compact form (see CardMasks), unknown cards are enumerated */
+    public EquityEnumerator(long[] holeCards, long board) {
+        this(holeCards, board, true);
+    }
+
+    EquityEnumerator(long[] holeCards, long board, boolean useSuitSymmetries) {
+        this.deal = new HoldemDeal(holeCards, board);
+        this.suitSymmetries = useSuitSymmetries ? suitSymmetries(deal) : new int[][]{{0, 1, 2, 3}};
+        this.deck = deal.remainingCards();
+    }
+
+    public EquityResult calculate() {
+        return calculate(ForkJoinPool.commonPool());
+    }
+
+    public EquityResult calculate(ForkJoinPool pool) {
+        return new RunOuts(deal.board, deck).enumerate(BoardCounter::new, pool).accumulator.toResult(true);
+    }
+
+    /* all suit permutations, that map the known board and the hole cards of each player onto themselves */
+    private static int[][] suitSymmetries(HoldemDeal deal) {
+        List<int[]> symmetries = new ArrayList<>();
+        permute(new int[SUITS], 0, 0, permutation -> {
+            if (permuted(deal.board, permutation) != deal.board)
+                return;
+            for (long cards : deal.holeCards)
+                if (permuted(cards, permutation) != cards)
+                    return;
+            symmetries.add(permutation.clone());
+        });
+        return symmetries.toArray(int[][]::new);
+    }
+
+    private static void permute(int[] permutation, int position, int usedSuits, Consumer<int[]> action) {
+        if (position == SUITS) {
+            action.accept(permutation);
+            return;
+        }
+        for (int suit = 0; suit < SUITS; suit++) {
+            if ((usedSuits & 1 << suit) != 0)
+                continue;
+            permutation[position] = suit;
+            permute(permutation, position + 1, usedSuits | 1 << suit, action);
+        }
+    }
+
+    private static long permuted(long mask, int[] permutation) {
+        long result = 0L;
+        for (int suit = 0; suit < SUITS; suit++)
+            result |= (mask >>> suit * CardMasks.VALUES_PER_SUIT & CardMasks.SUIT_VALUES_MASK) << permutation[suit] * CardMasks.VALUES_PER_SUIT;
+        return result;
+    }
+
+    /* settles the showdowns of complete boards, dealing the missing hole cards, reusing its buffer */
+    private final class BoardCounter implements RunOuts.Counter<BoardCounter> {
+        final EquityAccumulator accumulator = new EquityAccumulator(deal.players());
+        private final int[] strengths = new int[deal.players()];
+
+        @Override
+        public void count(long board) {
+            long weight = weight(board);
+            if (weight > 0)
+                holeCards(board, weight, 0, 0, 0, deal.deadCards | board);
+        }
+
+        @Override
+        public void addAll(BoardCounter other) {
+            accumulator.addAll(other.accumulator);
+        }
+
+        /* number of equivalent boards, if this is the smallest of them, otherwise 0 */
+        private long weight(long board) {
+            int unchanged = 0;
+            for (int[] symmetry : suitSymmetries) {
+                long equivalent = permuted(board, symmetry);
+                if (equivalent < board)
+                    return 0;
+                if (equivalent == board)
+                    unchanged++;
+            }
+            return suitSymmetries.length / unchanged;
+        }
+
+        /* deals the missing hole cards of the player and all following ones, then settles the showdown */
+        private void holeCards(long board, long weight, int player, int start, long dealt, long usedCards) {
+            if (player == strengths.length) {
+                accumulator.add(strengths, weight);
+                return;
+            }
+            int missing = deal.missingHoleCards(player) - Long.bitCount(dealt);
+            if (missing == 0) {
+                strengths[player] = HandEvaluator.strengthOf(board | deal.holeCards[player] | dealt);
+                holeCards(board, weight, player + 1, 0, 0, usedCards);
+                return;
+            }
+            for (int position = start; position <= deck.length - missing; position++) {
+                long card = 1L << deck[position];
+                if ((usedCards & card) == 0)
+                    holeCards(board, weight, player, position + 1, dealt | card, usedCards | card);
+            }
+        }
+    }
+}
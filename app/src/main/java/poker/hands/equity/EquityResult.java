@@ -0,0 +1,61 @@
+package poker.hands.equity;
+
+import java.util.Arrays;
+
+/* per player outcome over all run-outs (remaining board and unknown hole cards): wins, split pots and the equity,
+i.e. the average share of the pot, with its standard error (0 for exact results)
+ */
+public class EquityResult {
+    private final long runOuts;
+    private final long[] wins;
+    private final long[] ties;
+    private final double[] equities;
+    private final double[] standardErrors;
+
+    EquityResult(long runOuts, long[] wins, long[] ties, double[] equities, double[] standardErrors) {
+        this.runOuts = runOuts;
+        this.wins = wins.clone();
+        this.ties = ties.clone();
+        this.equities = equities.clone();
+        this.standardErrors = standardErrors.clone();
+    }
+
+    public int players() {
+        return wins.length;
+    }
+
+    public long runOuts() {
+        return runOuts;
+    }
+
+    public long wins(int player) {
+        return wins[player];
+    }
+
+    public long ties(int player) {
+        return ties[player];
+    }
+
+    public long losses(int player) {
+        return runOuts - wins[player] - ties[player];
+    }
+
+    public double equity(int player) {
+        return equities[player];
+    }
+
+    public double standardError(int player) {
+        return standardErrors[player];
+    }
+
+    @Override
+    public String toString() {
+        return "EquityResult{" +
+                "runOuts=" + runOuts +
+                ", wins=" + Arrays.toString(wins) +
+                ", ties=" + Arrays.toString(ties) +
+                ", equities=" + Arrays.toString(equities) +
+                ", standardErrors=" + Arrays.toString(standardErrors) +
+                '}';
+    }
+}
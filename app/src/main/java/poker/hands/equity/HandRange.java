@@ -0,0 +1,164 @@
+package poker.hands.equity;
+
+import poker.hands.CardMasks;
+import poker.hands.CardValue;
+
+import java.util.Arrays;
+
+/* the hole cards a player may hold, each with a weight between 0 and 1 (e.g. 0.7, if a hand is played 70% of the
+time). Parsed from the usual notation, a comma separated list of
+  pairs "QQ", suited "AKs" and offsuit "AKo" hands, or "AK" for both,
+  "QQ+" (QQ, KK, AA), "ATs+" (ATs to AKs), "22-55" and "A2s-A5s",
+  single hole cards "AsKd" (suits c, d, h, s),
+each optionally followed by ":<weight>", e.g. "QQ+, AKs, AQo:0.7". Later entries override earlier ones
+ */
+public final class HandRange {
+    private static final String VALUE_CHARS = "23456789TJQKA";
+    private static final String SUIT_CHARS = "cdhs";
+
+    private final double[] weights; // per hole cards, see HoleCards
+
+    private HandRange(double[] weights) {
+        this.weights = weights;
+    }
+
+    public static HandRange parse(String notation) {
+        double[] weights = new double[HoleCards.COMBOS];
+        for (String entry : notation.split(",")) {
+            entry = entry.trim();
+            double weight = 1.0;
+            int colon = entry.indexOf(':');
+            if (colon >= 0) {
+                weight = parseWeight(entry, entry.substring(colon + 1).trim());
+                entry = entry.substring(0, colon).trim();
+            }
+            if (isHoleCards(entry))
+                weights[HoleCards.indexOf(holeCards(entry))] = weight;
+            else
+                for (StartingHand hand : startingHands(entry))
+                    for (long holeCards : hand.combos())
+                        weights[HoleCards.indexOf(holeCards)] = weight;
+        }
+        return new HandRange(weights);
+    }
+
+    /* hole cards in compact form (see CardMasks), each with weight 1 */
+    public static HandRange of(long... holeCards) {
+        double[] weights = new double[HoleCards.COMBOS];
+        for (long cards : holeCards)
+            weights[HoleCards.indexOf(cards)] = 1.0;
+        return new HandRange(weights);
+    }
+
+    public static HandRange of(StartingHand... hands) {
+        double[] weights = new double[HoleCards.COMBOS];
+        for (StartingHand hand : hands)
+            for (long holeCards : hand.combos())
+                weights[HoleCards.indexOf(holeCards)] = 1.0;
+        return new HandRange(weights);
+    }
+
+    public double weight(long holeCards) {
+        return weights[HoleCards.indexOf(holeCards)];
+    }
+
+    double weight(int combo) {
+        return weights[combo];
+    }
+
+    /* number of hole cards with a positive weight */
+    public int combos() {
+        return (int) Arrays.stream(weights).filter(weight -> weight > 0).count();
+    }
+
+    public double totalWeight() {
+        return Arrays.stream(weights).sum();
+    }
+
+    /* card removal: the range without the hole cards containing any of the given (e.g. known) cards */
+    public HandRange withoutCards(long deadCards) {
+        double[] remaining = weights.clone();
+        for (int combo = 0; combo < HoleCards.COMBOS; combo++)
+            if ((HoleCards.mask(combo) & deadCards) != 0)
+                remaining[combo] = 0;
+        return new HandRange(remaining);
+    }
+
+    private static double parseWeight(String entry, String weight) {
+        try {
+            double parsed = Double.parseDouble(weight);
+            if (parsed >= 0 && parsed <= 1)
+                return parsed;
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("weight must be between 0 and 1: " + entry);
+    }
+
+    private static boolean isHoleCards(String entry) {
+        return entry.length() == 4
+                && SUIT_CHARS.indexOf(Character.toLowerCase(entry.charAt(1))) >= 0
+                && SUIT_CHARS.indexOf(Character.toLowerCase(entry.charAt(3))) >= 0;
+    }
+
+    private static long holeCards(String entry) {
+        long holeCards = 1L << cardIndex(entry, 0) | 1L << cardIndex(entry, 2);
+        if (Long.bitCount(holeCards) != 2)
+            throw new IllegalArgumentException("cards must be distinct: " + entry);
+        return holeCards;
+    }
+
+    private static int cardIndex(String entry, int position) {
+        int value = VALUE_CHARS.indexOf(entry.charAt(position));
+        if (value < 0)
+            throw new IllegalArgumentException("not a card value: " + entry);
+        return SUIT_CHARS.indexOf(Character.toLowerCase(entry.charAt(position + 1))) * CardMasks.VALUES_PER_SUIT + value;
+    }
+
+    private static StartingHand[] startingHands(String entry) {
+        int dash = entry.indexOf('-');
+        if (dash >= 0) {
+            String[] first = suitedness(entry.substring(0, dash)), last = suitedness(entry.substring(dash + 1));
+            return between(entry, StartingHand.of(first[0]), StartingHand.of(last[0]), first.length);
+        }
+        if (entry.endsWith("+")) {
+            String[] hands = suitedness(entry.substring(0, entry.length() - 1));
+            StartingHand lowest = StartingHand.of(hands[0]);
+            CardValue highest = lowest.isPair() ? CardValue.ACE : CardValue.values()[lowest.highValue().ordinal() - 1];
+            String last = lowest.isPair() ? "AA" : hands[0].charAt(0) + VALUE_CHARS.substring(highest.ordinal(), highest.ordinal() + 1) + hands[0].substring(2);
+            return between(entry, lowest, StartingHand.of(last), hands.length);
+        }
+        return Arrays.stream(suitedness(entry)).map(StartingHand::of).toArray(StartingHand[]::new);
+    }
+
+    /* "AK" stands for "AKs" and "AKo" */
+    private static String[] suitedness(String hand) {
+        if (hand.length() == 2 && hand.charAt(0) != hand.charAt(1))
+            return new String[]{hand + "s", hand + "o"};
+        return new String[]{hand};
+    }
+
+    /* pairs from first to last, or hands with the same high value and kickers from first to last; in both suitedness
+    variants, if the entry didn't specify one */
+    private static StartingHand[] between(String entry, StartingHand first, StartingHand last, int variants) {
+        boolean pairs = first.isPair() && last.isPair();
+        if (!pairs && (first.isPair() || last.isPair() || first.highValue() != last.highValue() || first.isSuited() != last.isSuited()))
+            throw new IllegalArgumentException("not a range of starting hands: " + entry);
+        int from = Math.min(first.lowValue().ordinal(), last.lowValue().ordinal());
+        int to = Math.max(first.lowValue().ordinal(), last.lowValue().ordinal());
+        StartingHand[] hands = new StartingHand[(to - from + 1) * variants];
+        int count = 0;
+        for (int value = from; value <= to; value++) {
+            char low = VALUE_CHARS.charAt(value);
+            if (pairs)
+                hands[count++] = StartingHand.of("" + low + low);
+            else {
+                String values = "" + VALUE_CHARS.charAt(first.highValue().ordinal()) + low;
+                hands[count++] = StartingHand.of(values + (first.isSuited() ? 's' : 'o'));
+                if (variants == 2)
+                    hands[count++] = StartingHand.of(values + (first.isSuited() ? 'o' : 's'));
+            }
+        }
+        return hands;
+    }
+}
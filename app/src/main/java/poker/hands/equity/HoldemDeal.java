@@ -0,0 +1,66 @@
+package poker.hands.equity;
+
+import poker.hands.CardMasks;
+
+/* the known cards of a Texas Hold'em showdown in compact form (see CardMasks): up to two hole cards per player and up
+to five board cards; everything else is dealt from the remaining cards
+ */
+final class HoldemDeal {
+    static final int HOLE_CARDS = 2;
+    static final int BOARD_CARDS = 5;
+
+    final long[] holeCards;
+    final long board;
+    final long deadCards;
+
+    HoldemDeal(long[] holeCards, long board) {
+        if (holeCards.length < 2)
+            throw new IllegalArgumentException("at least two players needed, got " + holeCards.length);
+        if (Long.bitCount(board) > BOARD_CARDS)
+            throw new IllegalArgumentException("at most " + BOARD_CARDS + " board cards, got " + CardMasks.cardsOf(board));
+        long deadCards = board;
+        for (long cards : holeCards) {
+            if (Long.bitCount(cards) > HOLE_CARDS)
+                throw new IllegalArgumentException("at most " + HOLE_CARDS + " hole cards, got " + CardMasks.cardsOf(cards));
+            if ((deadCards & cards) != 0)
+                throw new IllegalArgumentException("cards dealt twice: " + CardMasks.cardsOf(deadCards & cards));
+            deadCards |= cards;
+        }
+        if ((deadCards >>> CardMasks.CARDS) != 0)
+            throw new IllegalArgumentException("not a card mask: " + Long.toHexString(deadCards));
+        this.holeCards = holeCards.clone();
+        this.board = board;
+        this.deadCards = deadCards;
+        if (missingCards() > CardMasks.CARDS - Long.bitCount(deadCards))
+            throw new IllegalArgumentException("not enough cards left for " + holeCards.length + " players");
+    }
+
+    int players() {
+        return holeCards.length;
+    }
+
+    int missingBoardCards() {
+        return BOARD_CARDS - Long.bitCount(board);
+    }
+
+    int missingHoleCards(int player) {
+        return HOLE_CARDS - Long.bitCount(holeCards[player]);
+    }
+
+    int missingCards() {
+        int missing = missingBoardCards();
+        for (int player = 0; player < holeCards.length; player++)
+            missing += missingHoleCards(player);
+        return missing;
+    }
+
+    /* indices of the cards that can still be dealt */
+    int[] remainingCards() {
+        int[] remaining = new int[CardMasks.CARDS - Long.bitCount(deadCards)];
+        int count = 0;
+        for (int index = 0; index < CardMasks.CARDS; index++)
+            if ((deadCards & 1L << index) == 0)
+                remaining[count++] = index;
+        return remaining;
+    }
+}
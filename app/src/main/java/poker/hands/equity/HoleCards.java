@@ -0,0 +1,51 @@
+package poker.hands.equity;
+
+import poker.hands.CardMasks;
+
+/* the 1,326 combinations of two hole cards, indexed in the order of their (lower, higher) card indices, so per hole
+cards data (e.g. weights of a range or strengths on a board) fits into flat arrays
+ */
+final class HoleCards {
+    static final int COMBOS = CardMasks.CARDS * (CardMasks.CARDS - 1) / 2;
+
+    private static final long[] MASKS = new long[COMBOS];
+    private static final int[] CLASSES = new int[COMBOS];
+    private static final int[][] WITH_CARD = new int[CardMasks.CARDS][CardMasks.CARDS - 1];
+
+    static {
+        int[] withCard = new int[CardMasks.CARDS];
+        int combo = 0;
+        for (int first = 0; first < CardMasks.CARDS; first++)
+            for (int second = first + 1; second < CardMasks.CARDS; second++) {
+                MASKS[combo] = 1L << first | 1L << second;
+                CLASSES[combo] = StartingHand.indexOf(first, second);
+                WITH_CARD[first][withCard[first]++] = combo;
+                WITH_CARD[second][withCard[second]++] = combo;
+                combo++;
+            }
+    }
+
+    private HoleCards() {
+    }
+
+    static long mask(int combo) {
+        return MASKS[combo];
+    }
+
+    static int indexOf(long holeCards) {
+        if (Long.bitCount(holeCards) != 2 || holeCards >>> CardMasks.CARDS != 0)
+            throw new IllegalArgumentException("two hole cards needed, got " + CardMasks.cardsOf(holeCards));
+        int first = Long.numberOfTrailingZeros(holeCards), second = 63 - Long.numberOfLeadingZeros(holeCards);
+        return first * (2 * CardMasks.CARDS - 1 - first) / 2 + second - first - 1;
+    }
+
+    /* starting hand class, see StartingHand */
+    static int classOf(int combo) {
+        return CLASSES[combo];
+    }
+
+    /* the 51 hole cards containing the given card */
+    static int[] withCard(int card) {
+        return WITH_CARD[card];
+    }
+}
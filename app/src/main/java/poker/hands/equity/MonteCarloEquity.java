@@ -0,0 +1,101 @@
+package poker.hands.equity;
+
+import poker.hands.CardMasks;
+import poker.hands.ranking.HandEvaluator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/* Texas Hold'em equity by sampling random run-outs of the remaining cards. Sampling runs on all workers of the fork
+join pool in rounds; each worker owns its random generator (split from the seeded one), deck and counters, so workers
+share nothing while sampling and results are reproducible for the same seed and pool size. Between rounds the
+counters are merged to check, whether the target standard error or the maximum number of samples has been reached
+ */
+public class MonteCarloEquity {
+    private static final int SAMPLES_PER_ROUND_AND_WORKER = 10_000;
+
+    private final HoldemDeal deal;
+    private final long maxSamples;
+    private final double targetStandardError;
+    private final long seed;
+
+    /* hole cards per player and board in compact form (see CardMasks), unknown cards are sampled */
+    public MonteCarloEquity(long[] holeCards, long board, long maxSamples, double targetStandardError, long seed) {
+        if (maxSamples < 1)
+            throw new IllegalArgumentException("at least one sample needed, got " + maxSamples);
+        this.deal = new HoldemDeal(holeCards, board);
+        this.maxSamples = maxSamples;
+        this.targetStandardError = targetStandardError;
+        this.seed = seed;
+    }
+
+    public EquityResult calculate() {
+        return calculate(ForkJoinPool.commonPool());
+    }
+
+    public EquityResult calculate(ForkJoinPool pool) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Sampler> samplers = new ArrayList<>();
+        for (int i = 0; i < pool.getParallelism(); i++)
+            samplers.add(new Sampler(deal, random.split()));
+
+        EquityAccumulator total = new EquityAccumulator(deal.players());
+        while (total.showdowns() < maxSamples && total.maxStandardError() > targetStandardError) {
+            long remaining = maxSamples - total.showdowns();
+            for (int i = 0; i < samplers.size(); i++) // spread the remaining samples evenly, if less than a full round
+                samplers.get(i).samples = (int) Math.min(SAMPLES_PER_ROUND_AND_WORKER, (remaining + samplers.size() - 1 - i) / samplers.size());
+            samplers.forEach(ForkJoinTask::reinitialize);
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(samplers)));
+            for (Sampler sampler : samplers)
+                total.addAll(sampler.drainRound());
+        }
+        return total.toResult(false);
+    }
+
+    private static final class Sampler extends RecursiveAction {
+        private final HoldemDeal deal;
+        private final SplittableRandom random;
+        private final int[] deck;
+        private final int[] strengths;
+        private EquityAccumulator round;
+        private int samples;
+
+        Sampler(HoldemDeal deal, SplittableRandom random) {
+            this.deal = deal;
+            this.random = random;
+            this.deck = deal.remainingCards();
+            this.strengths = new int[deal.players()];
+            this.round = new EquityAccumulator(deal.players());
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = 0; i < samples; i++)
+                sample();
+        }
+
+        private void sample() {
+            int dealt = 0;
+            long board = deal.board;
+            for (int i = deal.missingBoardCards(); i > 0; i--)
+                board |= 1L << CardMasks.draw(deck, dealt++, random);
+            for (int player = 0; player < strengths.length; player++) {
+                long cards = board | deal.holeCards[player];
+                for (int i = deal.missingHoleCards(player); i > 0; i--)
+                    cards |= 1L << CardMasks.draw(deck, dealt++, random);
+                strengths[player] = HandEvaluator.strengthOf(cards);
+            }
+            round.add(strengths, 1);
+        }
+
+        EquityAccumulator drainRound() {
+            EquityAccumulator drained = round;
+            round = new EquityAccumulator(deal.players());
+            return drained;
+        }
+    }
+}
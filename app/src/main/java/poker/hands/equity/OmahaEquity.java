@@ -0,0 +1,81 @@
+package poker.hands.equity;
+
+import poker.hands.CardMasks;
+import poker.hands.ranking.OmahaEvaluator;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/* Omaha equity of known hands (four hole cards, or five in 5-card PLO) against each other. Board run-outs are either
+all enumerated (exact, e.g. from the flop on) or sampled (e.g. preflop), see RunOuts. The board side of the evaluation
+is prepared once per run-out and shared by all players (see OmahaEvaluator)
+ */
+public class OmahaEquity {
+    private static final int MIN_HOLE_CARDS = 4;
+    private static final int MAX_HOLE_CARDS = 5;
+
+    private final long[] holeCards;
+    private final RunOuts runOuts;
+
+    /* hole cards per player and board in compact form (see CardMasks), missing board cards are dealt from the rest */
+    public OmahaEquity(long[] holeCards, long board) {
+        if (holeCards.length < 2)
+            throw new IllegalArgumentException("at least two players needed, got " + holeCards.length);
+        if (Long.bitCount(board) > HoldemDeal.BOARD_CARDS)
+            throw new IllegalArgumentException("at most " + HoldemDeal.BOARD_CARDS + " board cards, got " + CardMasks.cardsOf(board));
+        long deadCards = board;
+        for (long cards : holeCards) {
+            if (Long.bitCount(cards) < MIN_HOLE_CARDS || Long.bitCount(cards) > MAX_HOLE_CARDS)
+                throw new IllegalArgumentException("expected " + MIN_HOLE_CARDS + " or " + MAX_HOLE_CARDS + " hole cards, got " + CardMasks.cardsOf(cards));
+            if ((deadCards & cards) != 0)
+                throw new IllegalArgumentException("cards dealt twice: " + CardMasks.cardsOf(deadCards & cards));
+            deadCards |= cards;
+        }
+        if ((deadCards >>> CardMasks.CARDS) != 0)
+            throw new IllegalArgumentException("not a card mask: " + Long.toHexString(deadCards));
+        long dead = deadCards;
+        int[] deck = IntStream.range(0, CardMasks.CARDS).filter(card -> (dead & 1L << card) == 0).toArray();
+        if (deck.length < HoldemDeal.BOARD_CARDS - Long.bitCount(board))
+            throw new IllegalArgumentException("not enough cards left for the board");
+        this.holeCards = holeCards.clone();
+        this.runOuts = new RunOuts(board, deck);
+    }
+
+    /* exact, by enumerating all board run-outs */
+    public EquityResult calculate() {
+        return calculate(ForkJoinPool.commonPool());
+    }
+
+    public EquityResult calculate(ForkJoinPool pool) {
+        return runOuts.enumerate(BoardCounter::new, pool).accumulator.toResult(true);
+    }
+
+    /* estimated from the given number of random board run-outs */
+    public EquityResult sample(long boards, long seed) {
+        return sample(boards, seed, ForkJoinPool.commonPool());
+    }
+
+    public EquityResult sample(long boards, long seed, ForkJoinPool pool) {
+        return runOuts.sample(boards, seed, BoardCounter::new, pool).accumulator.toResult(false);
+    }
+
+    /* settles the showdown on a complete board, reusing its buffer and evaluator */
+    private final class BoardCounter implements RunOuts.Counter<BoardCounter> {
+        final EquityAccumulator accumulator = new EquityAccumulator(holeCards.length);
+        private final int[] strengths = new int[holeCards.length];
+        private final OmahaEvaluator evaluator = new OmahaEvaluator();
+
+        @Override
+        public void count(long fullBoard) {
+            evaluator.prepare(fullBoard);
+            for (int player = 0; player < strengths.length; player++)
+                strengths[player] = evaluator.strengthOf(holeCards[player]);
+            accumulator.add(strengths, 1);
+        }
+
+        @Override
+        public void addAll(BoardCounter other) {
+            accumulator.addAll(other.accumulator);
+        }
+    }
+}
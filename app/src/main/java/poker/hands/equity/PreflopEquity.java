@@ -0,0 +1,41 @@
+package poker.hands.equity;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/* exact heads-up equity before the flop of every pair of starting hand classes, i.e. averaged over all hole cards of
+both classes (that don't share a card) and all boards. The table is generated offline by PreflopEquityGenerator and
+bundled as a resource of 169 x 169 unsigned 16 bit fixed point equities (57 KB), loaded on first use
+ */
+public final class PreflopEquity {
+    static final String RESOURCE = "preflop-equity.bin";
+    static final int SCALE = Character.MAX_VALUE;
+
+    private PreflopEquity() {
+    }
+
+    public static double equity(StartingHand hand, StartingHand opponent) {
+        return Table.EQUITIES[hand.index() * StartingHand.CLASSES + opponent.index()] / (double) SCALE;
+    }
+
+    // holder class, so the table is loaded on first use only
+    private static final class Table {
+        static final char[] EQUITIES = load();
+
+        private static char[] load() {
+            char[] equities = new char[StartingHand.CLASSES * StartingHand.CLASSES];
+            try (InputStream resource = PreflopEquity.class.getResourceAsStream(RESOURCE)) {
+                if (resource == null)
+                    throw new IllegalStateException("missing resource " + RESOURCE + ", see PreflopEquityGenerator");
+                DataInputStream data = new DataInputStream(resource);
+                for (int cell = 0; cell < equities.length; cell++)
+                    equities[cell] = data.readChar();
+            } catch (IOException e) {
+                throw new UncheckedIOException("can't read " + RESOURCE, e);
+            }
+            return equities;
+        }
+    }
+}
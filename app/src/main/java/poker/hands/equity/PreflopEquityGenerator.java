@@ -0,0 +1,193 @@
+package poker.hands.equity;
+
+import poker.hands.CardMasks;
+import poker.hands.ranking.HandEvaluator;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/* computes the exact heads-up equity of every pair of starting hand classes (see PreflopEquity), run offline with
+gradle generatePreflopEquity. Instead of enumerating the boards of each of the ~800,000 pairs of hole cards, it walks
+the boards once: per board all 1,326 hole cards are evaluated and sorted by strength, so one sweep counts for each
+hole cards the weaker and equal ones per class. Pairs of hole cards sharing a card are subtracted afterwards. Boards,
+which only differ by a permutation of suits, give the same counts per class, so only the smallest of them is walked
+and counted as often as there are such boards
+ */
+public final class PreflopEquityGenerator {
+    private static final int CLASSES = StartingHand.CLASSES;
+    private static final int SUITS = 4;
+    private static final int HOLE_CARD_BITS = 11;
+    private static final int[][] SUIT_PERMUTATIONS = suitPermutations();
+
+    private PreflopEquityGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: PreflopEquityGenerator <output file>");
+            System.exit(2);
+        }
+        long startNanos = System.nanoTime();
+        double[] equities = equities(ForkJoinPool.commonPool());
+        Path output = Path.of(args[0]);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (OutputStream file = Files.newOutputStream(output)) {
+            write(equities, file);
+        }
+        System.out.printf("computed %d equities in %.0f s into %s%n", equities.length, (System.nanoTime() - startNanos) / 1e9, output);
+    }
+
+    /* equity of the first class against the second, indexed by first * CLASSES + second */
+    static double[] equities(ForkJoinPool pool) {
+        Tally tally = new RunOuts(0L, IntStream.range(0, CardMasks.CARDS).toArray()).enumerate(BoardCounter::new, pool).tally;
+        double[] equities = new double[CLASSES * CLASSES];
+        for (int hand = 0; hand < CLASSES; hand++)
+            for (int opponent = 0; opponent < CLASSES; opponent++) {
+                int cell = hand * CLASSES + opponent;
+                long showdowns = tally.wins[cell] + tally.wins[opponent * CLASSES + hand] + tally.ties[cell];
+                equities[cell] = (tally.wins[cell] + tally.ties[cell] / 2.0) / showdowns;
+            }
+        return equities;
+    }
+
+    /* unsigned 16 bit fixed point, big-endian, see PreflopEquity */
+    static void write(double[] equities, OutputStream output) throws IOException {
+        DataOutputStream data = new DataOutputStream(output);
+        for (double equity : equities)
+            data.writeChar((int) Math.round(equity * PreflopEquity.SCALE));
+        data.flush();
+    }
+
+    private static int[][] suitPermutations() {
+        List<int[]> permutations = new ArrayList<>();
+        for (int permutation = 0; permutation < SUITS * SUITS * SUITS * SUITS; permutation++) {
+            int[] suits = {permutation & 3, permutation >> 2 & 3, permutation >> 4 & 3, permutation >> 6 & 3};
+            if (Arrays.stream(suits).distinct().count() == SUITS)
+                permutations.add(suits);
+        }
+        return permutations.toArray(int[][]::new);
+    }
+
+    private static long permuted(long mask, int[] permutation) {
+        long result = 0L;
+        for (int suit = 0; suit < SUITS; suit++)
+            result |= (mask >>> suit * CardMasks.VALUES_PER_SUIT & CardMasks.SUIT_VALUES_MASK) << permutation[suit] * CardMasks.VALUES_PER_SUIT;
+        return result;
+    }
+
+    /* showdowns won and tied by the first class against the second, indexed like the equities */
+    private static final class Tally {
+        final long[] wins = new long[CLASSES * CLASSES];
+        final long[] ties = new long[CLASSES * CLASSES];
+
+        void addAll(Tally other) {
+            for (int cell = 0; cell < wins.length; cell++) {
+                wins[cell] += other.wins[cell];
+                ties[cell] += other.ties[cell];
+            }
+        }
+    }
+
+    /* counts the showdowns of all hole cards on complete boards, reusing its buffers */
+    private static final class BoardCounter implements RunOuts.Counter<BoardCounter> {
+        final Tally tally = new Tally();
+        private final long[] keys = new long[HoleCards.COMBOS];
+        private final int[] strengths = new int[HoleCards.COMBOS];
+        private final int[] weaker = new int[CLASSES];
+        private final int[] equal = new int[CLASSES];
+        private final int[] groupClasses = new int[HoleCards.COMBOS];
+
+        @Override
+        public void count(long board) {
+            int weight = weight(board);
+            if (weight > 0)
+                count(board, weight);
+        }
+
+        @Override
+        public void addAll(BoardCounter other) {
+            tally.addAll(other.tally);
+        }
+
+        /* number of boards equivalent by suit permutation, if this is the smallest of them, otherwise 0 */
+        private static int weight(long board) {
+            int unchanged = 0;
+            for (int[] permutation : SUIT_PERMUTATIONS) {
+                long equivalent = permuted(board, permutation);
+                if (equivalent < board)
+                    return 0;
+                if (equivalent == board)
+                    unchanged++;
+            }
+            return SUIT_PERMUTATIONS.length / unchanged;
+        }
+
+        private void count(long board, int weight) {
+            int dealt = 0;
+            for (int holeCards = 0; holeCards < HoleCards.COMBOS; holeCards++) {
+                if ((HoleCards.mask(holeCards) & board) != 0) {
+                    strengths[holeCards] = -1;
+                    continue;
+                }
+                strengths[holeCards] = HandEvaluator.strengthOf(board | HoleCards.mask(holeCards));
+                keys[dealt++] = (long) strengths[holeCards] << HOLE_CARD_BITS | holeCards;
+            }
+            Arrays.sort(keys, 0, dealt);
+
+            Arrays.fill(weaker, 0);
+            for (int groupStart = 0, groupEnd; groupStart < dealt; groupStart = groupEnd) {
+                // hole cards of equal strength, counted per class
+                int strength = (int) (keys[groupStart] >>> HOLE_CARD_BITS);
+                int classes = 0;
+                for (groupEnd = groupStart; groupEnd < dealt && (int) (keys[groupEnd] >>> HOLE_CARD_BITS) == strength; groupEnd++) {
+                    int handClass = HoleCards.classOf((int) keys[groupEnd] & (1 << HOLE_CARD_BITS) - 1);
+                    if (equal[handClass]++ == 0)
+                        groupClasses[classes++] = handClass;
+                }
+                for (int i = 0; i < classes; i++) {
+                    int handClass = groupClasses[i];
+                    long count = (long) weight * equal[handClass];
+                    int row = handClass * CLASSES;
+                    for (int opponent = 0; opponent < CLASSES; opponent++)
+                        tally.wins[row + opponent] += count * weaker[opponent];
+                    for (int j = 0; j < classes; j++)
+                        tally.ties[row + groupClasses[j]] += count * equal[groupClasses[j]];
+                }
+                for (int position = groupStart; position < groupEnd; position++)
+                    subtractSharedCards((int) keys[position] & (1 << HOLE_CARD_BITS) - 1, strength, weight);
+                for (int i = 0; i < classes; i++) {
+                    weaker[groupClasses[i]] += equal[groupClasses[i]];
+                    equal[groupClasses[i]] = 0;
+                }
+            }
+        }
+
+        /* the counts above include opponents sharing a card with the hole cards (and the hole cards themselves) */
+        private void subtractSharedCards(int holeCards, int strength, int weight) {
+            int row = HoleCards.classOf(holeCards) * CLASSES;
+            long cards = HoleCards.mask(holeCards);
+            int first = Long.numberOfTrailingZeros(cards), second = 63 - Long.numberOfLeadingZeros(cards);
+            for (int card : new int[]{first, second}) {
+                for (int opponent : HoleCards.withCard(card)) {
+                    if (card == second && opponent == holeCards)
+                        continue; // already subtracted for the first card
+                    int opponentStrength = strengths[opponent];
+                    if (opponentStrength < 0)
+                        continue;
+                    if (opponentStrength < strength)
+                        tally.wins[row + HoleCards.classOf(opponent)] -= weight;
+                    else if (opponentStrength == strength)
+                        tally.ties[row + HoleCards.classOf(opponent)] -= weight;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package poker.hands.equity;
+
+import poker.hands.CardMasks;
+import poker.hands.ranking.HandEvaluator;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/* Texas Hold'em equity of a range against another range. Per board run-out each hole cards of both ranges is evaluated
+once, then the opponent's hole cards are sorted by strength with running sums of their weights, so the weight of the
+weaker and equal opponent hole cards is a binary search for each hole cards of the range. Opponent hole cards sharing
+a card with them are subtracted afterwards (card removal). Run-outs are either all enumerated (exact, e.g. from the
+flop on) or sampled (e.g. preflop), see RunOuts
+ */
+public class RangeEquity {
+    private static final int COMBO_BITS = 11;
+
+    private final double[] weights;
+    private final double[] opponentWeights;
+    private final int[] combos;
+    private final int[] opponentCombos;
+    private final int[] evaluatedCombos; // of both ranges
+    private final RunOuts runOuts;
+
+    /* board in compact form (see CardMasks), missing board cards are dealt from the remaining cards */
+    public RangeEquity(HandRange range, HandRange opponentRange, long board) {
+        if (Long.bitCount(board) > HoldemDeal.BOARD_CARDS || board >>> CardMasks.CARDS != 0)
+            throw new IllegalArgumentException("at most " + HoldemDeal.BOARD_CARDS + " board cards, got " + CardMasks.cardsOf(board));
+        this.weights = weights(range.withoutCards(board));
+        this.opponentWeights = weights(opponentRange.withoutCards(board));
+        this.combos = combos(weights);
+        this.opponentCombos = combos(opponentWeights);
+        if (combos.length == 0 || opponentCombos.length == 0)
+            throw new IllegalArgumentException("ranges must have hole cards, that aren't on the board");
+        this.evaluatedCombos = IntStream.range(0, HoleCards.COMBOS).filter(combo -> weights[combo] > 0 || opponentWeights[combo] > 0).toArray();
+        this.runOuts = new RunOuts(board, IntStream.range(0, CardMasks.CARDS).filter(card -> (board & 1L << card) == 0).toArray());
+    }
+
+    /* exact, by enumerating all board run-outs */
+    public RangeEquityResult calculate() {
+        return calculate(ForkJoinPool.commonPool());
+    }
+
+    public RangeEquityResult calculate(ForkJoinPool pool) {
+        return runOuts.enumerate(BoardCounter::new, pool).tally.toResult();
+    }
+
+    /* estimated from the given number of random board run-outs */
+    public RangeEquityResult sample(long boards, long seed) {
+        return sample(boards, seed, ForkJoinPool.commonPool());
+    }
+
+    public RangeEquityResult sample(long boards, long seed, ForkJoinPool pool) {
+        return runOuts.sample(boards, seed, BoardCounter::new, pool).tally.toResult();
+    }
+
+    private static double[] weights(HandRange range) {
+        double[] weights = new double[HoleCards.COMBOS];
+        for (int combo = 0; combo < HoleCards.COMBOS; combo++)
+            weights[combo] = range.weight(combo);
+        return weights;
+    }
+
+    private static int[] combos(double[] weights) {
+        return IntStream.range(0, HoleCards.COMBOS).filter(combo -> weights[combo] > 0).toArray();
+    }
+
+    /* weights of the showdowns won, tied and in total, summed up over boards */
+    private static final class Tally {
+        private double wins;
+        private double ties;
+        private double showdowns;
+        private long boards;
+
+        void addAll(Tally other) {
+            wins += other.wins;
+            ties += other.ties;
+            showdowns += other.showdowns;
+            boards += other.boards;
+        }
+
+        RangeEquityResult toResult() {
+            return showdowns == 0 ? new RangeEquityResult(boards, 0, 0) : new RangeEquityResult(boards, wins / showdowns, ties / showdowns);
+        }
+    }
+
+    /* settles all showdowns of both ranges on complete boards, reusing its buffers */
+    private class BoardCounter implements RunOuts.Counter<BoardCounter> {
+        final Tally tally = new Tally();
+        private final int[] strengths = new int[HoleCards.COMBOS];
+        private final long[] keys = new long[opponentCombos.length];
+        private final double[] weightsBelow = new double[opponentCombos.length + 1];
+        private final int[] cards = new int[HoldemDeal.HOLE_CARDS];
+
+        @Override
+        public void count(long fullBoard) {
+            for (int combo : evaluatedCombos) {
+                long holeCards = HoleCards.mask(combo);
+                strengths[combo] = (holeCards & fullBoard) != 0 ? -1 : HandEvaluator.strengthOf(fullBoard | holeCards);
+            }
+            int dealt = 0;
+            for (int combo : opponentCombos)
+                if (strengths[combo] >= 0)
+                    keys[dealt++] = (long) strengths[combo] << COMBO_BITS | combo;
+            Arrays.sort(keys, 0, dealt);
+            for (int i = 0; i < dealt; i++)
+                weightsBelow[i + 1] = weightsBelow[i] + opponentWeights[(int) keys[i] & (1 << COMBO_BITS) - 1];
+
+            for (int combo : combos) {
+                int strength = strengths[combo];
+                if (strength < 0)
+                    continue;
+                int weakerEnd = lowerBound(dealt, (long) strength << COMBO_BITS);
+                int equalEnd = lowerBound(dealt, (long) (strength + 1) << COMBO_BITS);
+                double weaker = weightsBelow[weakerEnd];
+                double equal = weightsBelow[equalEnd] - weaker;
+                double total = weightsBelow[dealt];
+
+                long holeCards = HoleCards.mask(combo);
+                cards[0] = Long.numberOfTrailingZeros(holeCards);
+                cards[1] = 63 - Long.numberOfLeadingZeros(holeCards);
+                for (int card : cards)
+                    for (int opponent : HoleCards.withCard(card)) {
+                        if (opponentWeights[opponent] == 0 || strengths[opponent] < 0 || card == cards[1] && opponent == combo)
+                            continue; // the hole cards themselves are subtracted with their first card only
+                        total -= opponentWeights[opponent];
+                        if (strengths[opponent] < strength)
+                            weaker -= opponentWeights[opponent];
+                        else if (strengths[opponent] == strength)
+                            equal -= opponentWeights[opponent];
+                    }
+                tally.wins += weights[combo] * weaker;
+                tally.ties += weights[combo] * equal;
+                tally.showdowns += weights[combo] * total;
+            }
+            tally.boards++;
+        }
+
+        @Override
+        public void addAll(BoardCounter other) {
+            tally.addAll(other.tally);
+        }
+
+        private int lowerBound(int length, long key) {
+            int index = Arrays.binarySearch(keys, 0, length, key);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package poker.hands.equity;
+
+/* outcome of a range against another range: the probabilities, that the first range wins or splits the pot, and its
+equity, weighted by the hole cards' weights; boards is the number of evaluated board run-outs
+ */
+public class RangeEquityResult {
+    private final long boards;
+    private final double winProbability;
+    private final double tieProbability;
+
+    RangeEquityResult(long boards, double winProbability, double tieProbability) {
+        this.boards = boards;
+        this.winProbability = winProbability;
+        this.tieProbability = tieProbability;
+    }
+
+    public long boards() {
+        return boards;
+    }
+
+    public double winProbability() {
+        return winProbability;
+    }
+
+    public double tieProbability() {
+        return tieProbability;
+    }
+
+    public double lossProbability() {
+        return 1 - winProbability - tieProbability;
+    }
+
+    public double equity() {
+        return winProbability + tieProbability / 2;
+    }
+
+    public double opponentEquity() {
+        return 1 - equity();
+    }
+
+    @Override
+    public String toString() {
+        return "RangeEquityResult{" +
+                "boards=" + boards +
+                ", winProbability=" + winProbability +
+                ", tieProbability=" + tieProbability +
+                ", equity=" + equity() +
+                '}';
+    }
+}
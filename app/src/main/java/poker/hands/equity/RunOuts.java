@@ -0,0 +1,123 @@
+package poker.hands.equity;
+
+import poker.hands.CardMasks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/* the run-outs of a Texas Hold'em board: its completions by the missing cards from a deck, either all enumerated
+(exact) or sampled, in both cases in parallel on a fork join pool. Each task counts its complete boards with its own
+counter, so tasks share nothing, and the counters of all tasks are merged at the end
+ */
+final class RunOuts {
+    private static final int SAMPLED_BOARDS_PER_TASK = 1_000;
+
+    /* per task state, given each complete board of the task */
+    interface Counter<C extends Counter<C>> {
+        void count(long board);
+
+        void addAll(C other);
+    }
+
+    private final long board;
+    private final int[] deck;
+    private final int missing;
+
+    /* board in compact form (see CardMasks), the deck holds the indices of the cards that can still be dealt */
+    RunOuts(long board, int[] deck) {
+        this.board = board;
+        this.deck = deck;
+        this.missing = HoldemDeal.BOARD_CARDS - Long.bitCount(board);
+    }
+
+    <C extends Counter<C>> C enumerate(Supplier<C> counters, ForkJoinPool pool) {
+        int lowestCards = missing == 0 ? 1 : deck.length - missing + 1;
+        return pool.invoke(new BoardRange<>(counters, 0, lowestCards));
+    }
+
+    <C extends Counter<C>> C sample(long boards, long seed, Supplier<C> counters, ForkJoinPool pool) {
+        if (boards < 1)
+            throw new IllegalArgumentException("at least one board needed, got " + boards);
+        SplittableRandom random = new SplittableRandom(seed);
+        List<BoardSampler<C>> samplers = new ArrayList<>();
+        for (long first = 0; first < boards; first += SAMPLED_BOARDS_PER_TASK)
+            samplers.add(new BoardSampler<>(counters, random.split(), (int) Math.min(SAMPLED_BOARDS_PER_TASK, boards - first)));
+        return pool.invoke(ForkJoinTask.adapt(() -> {
+            C total = counters.get();
+            for (BoardSampler<C> sampler : ForkJoinTask.invokeAll(samplers))
+                total.addAll(sampler.join());
+            return total;
+        }));
+    }
+
+    /* run-outs, whose lowest dealt card is at one of the positions [from, to) of the deck */
+    private final class BoardRange<C extends Counter<C>> extends RecursiveTask<C> {
+        private final Supplier<C> counters;
+        private final int from;
+        private final int to;
+        private C counter;
+
+        BoardRange(Supplier<C> counters, int from, int to) {
+            this.counters = counters;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected C compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                BoardRange<C> upper = new BoardRange<>(counters, middle, to);
+                upper.fork();
+                C result = new BoardRange<>(counters, from, middle).compute();
+                result.addAll(upper.join());
+                return result;
+            }
+            counter = counters.get();
+            if (missing == 0)
+                counter.count(board);
+            else
+                boards(from + 1, missing - 1, board | 1L << deck[from]);
+            return counter;
+        }
+
+        private void boards(int start, int missing, long fullBoard) {
+            if (missing == 0) {
+                counter.count(fullBoard);
+                return;
+            }
+            for (int position = start; position <= deck.length - missing; position++)
+                boards(position + 1, missing - 1, fullBoard | 1L << deck[position]);
+        }
+    }
+
+    private final class BoardSampler<C extends Counter<C>> extends RecursiveTask<C> {
+        private final Supplier<C> counters;
+        private final SplittableRandom random;
+        private final int boards;
+
+        BoardSampler(Supplier<C> counters, SplittableRandom random, int boards) {
+            this.counters = counters;
+            this.random = random;
+            this.boards = boards;
+        }
+
+        @Override
+        protected C compute() {
+            C counter = counters.get();
+            int[] cards = deck.clone();
+            for (int i = 0; i < boards; i++) {
+                long fullBoard = board;
+                for (int position = 0; position < missing; position++)
+                    fullBoard |= 1L << CardMasks.draw(cards, position, random);
+                counter.count(fullBoard);
+            }
+            return counter;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package poker.hands.equity;
+
+import poker.hands.Card;
+import poker.hands.CardMasks;
+import poker.hands.CardValue;
+
+/* one of the 169 classes of Texas Hold'em hole cards, which only differ by suits: pairs (e.g. "QQ"), suited ("AKs")
+and offsuit ("AKo") hands. The index is a cell of the 13x13 grid of value ordinals: the pairs on the diagonal, suited
+hands with the higher value as row, offsuit hands with the higher value as column
+ */
+public final class StartingHand {
+    private static final int VALUES = CardValue.values().length;
+    public static final int CLASSES = VALUES * VALUES;
+    private static final String VALUE_CHARS = "23456789TJQKA";
+    private static final StartingHand[] BY_INDEX = new StartingHand[CLASSES];
+
+    static {
+        for (int index = 0; index < CLASSES; index++)
+            BY_INDEX[index] = new StartingHand(index);
+    }
+
+    private final int index;
+
+    private StartingHand(int index) {
+        this.index = index;
+    }
+
+    public static StartingHand ofIndex(int index) {
+        if (index < 0 || index >= CLASSES)
+            throw new IllegalArgumentException("no starting hand index " + index + ", expected 0-" + (CLASSES - 1));
+        return BY_INDEX[index];
+    }
+
+    public static StartingHand of(Card first, Card second) {
+        if (first.equals(second))
+            throw new IllegalArgumentException("cards must be distinct: " + first);
+        return BY_INDEX[indexOf(first.index(), second.index())];
+    }
+
+    /* hole cards in compact form, see CardMasks */
+    public static StartingHand ofMask(long holeCards) {
+        if (Long.bitCount(holeCards) != 2)
+            throw new IllegalArgumentException("two hole cards needed, got " + CardMasks.cardsOf(holeCards));
+        return BY_INDEX[indexOf(Long.numberOfTrailingZeros(holeCards), 63 - Long.numberOfLeadingZeros(holeCards))];
+    }
+
+    /* e.g. "AA", "AKs", "T9o" */
+    public static StartingHand of(String notation) {
+        int high = notation.length() >= 2 ? VALUE_CHARS.indexOf(notation.charAt(0)) : -1;
+        int low = notation.length() >= 2 ? VALUE_CHARS.indexOf(notation.charAt(1)) : -1;
+        if (high < 0 || low < 0 || high < low
+                || (high == low ? notation.length() != 2 : notation.length() != 3 || "so".indexOf(notation.charAt(2)) < 0))
+            throw new IllegalArgumentException("not a starting hand: " + notation);
+        boolean suited = high != low && notation.charAt(2) == 's';
+        return BY_INDEX[suited ? high * VALUES + low : low * VALUES + high];
+    }
+
+    /* class of two distinct cards given by index (see CardMasks) */
+    static int indexOf(int firstCard, int secondCard) {
+        int firstValue = firstCard % VALUES, secondValue = secondCard % VALUES;
+        int high = Math.max(firstValue, secondValue), low = Math.min(firstValue, secondValue);
+        boolean suited = firstCard / VALUES == secondCard / VALUES;
+        return suited ? high * VALUES + low : low * VALUES + high;
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public CardValue highValue() {
+        return CardValue.values()[Math.max(index / VALUES, index % VALUES)];
+    }
+
+    public CardValue lowValue() {
+        return CardValue.values()[Math.min(index / VALUES, index % VALUES)];
+    }
+
+    public boolean isPair() {
+        return index / VALUES == index % VALUES;
+    }
+
+    public boolean isSuited() {
+        return index / VALUES > index % VALUES;
+    }
+
+    /* all hole cards of this class in compact form: 6 for pairs, 4 for suited and 12 for offsuit hands */
+    public long[] combos() {
+        long[] combos = new long[isPair() ? 6 : isSuited() ? 4 : 12];
+        int count = 0;
+        for (int first = 0; first < CardMasks.CARDS; first++)
+            for (int second = first + 1; second < CardMasks.CARDS; second++)
+                if (indexOf(first, second) == index)
+                    combos[count++] = 1L << first | 1L << second;
+        return combos;
+    }
+
+    @Override
+    public String toString() {
+        String values = "" + VALUE_CHARS.charAt(highValue().ordinal()) + VALUE_CHARS.charAt(lowValue().ordinal());
+        return isPair() ? values : values + (isSuited() ? 's' : 'o');
+    }
+}
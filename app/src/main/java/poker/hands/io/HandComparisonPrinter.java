@@ -0,0 +1,58 @@
+package poker.hands.io;
+
+import poker.hands.ranking.LookupTableEvaluator;
+
+import java.io.PrintWriter;
+
+/* prints the winner of each line of two hands ("Black wins", "White wins" or "Tie"), using the hands' labels if
+given; malformed lines are reported to the error writer with their line number and byte offset
+ */
+public class HandComparisonPrinter implements HandNotationParser.Listener {
+    private static final String[] DEFAULT_LABELS = {"Black", "White"};
+
+    private final PrintWriter results;
+    private final PrintWriter errors;
+    private long comparedLines;
+    private long malformedLines;
+
+    public HandComparisonPrinter(PrintWriter results, PrintWriter errors) {
+        this.results = results;
+        this.errors = errors;
+    }
+
+    @Override
+    public void hands(HandNotationParser.ParsedLine line) {
+        if (line.handCount() != 2) {
+            malformedLine(line.lineNumber(), line.offset(), "expected 2 hands, got " + line.handCount());
+            return;
+        }
+        int comparison = Integer.compare(strengthOf(line, 0), strengthOf(line, 1));
+        if (comparison == 0)
+            results.println("Tie");
+        else
+            results.println(labelOf(line, comparison > 0 ? 0 : 1) + " wins");
+        comparedLines++;
+    }
+
+    @Override
+    public void malformedLine(long lineNumber, long offset, String reason) {
+        errors.println("line " + lineNumber + " (offset " + offset + "): " + reason);
+        malformedLines++;
+    }
+
+    public long comparedLines() {
+        return comparedLines;
+    }
+
+    public long malformedLines() {
+        return malformedLines;
+    }
+
+    private static int strengthOf(HandNotationParser.ParsedLine line, int hand) {
+        return LookupTableEvaluator.strengthOf(line.card(hand, 0), line.card(hand, 1), line.card(hand, 2), line.card(hand, 3), line.card(hand, 4));
+    }
+
+    private static String labelOf(HandNotationParser.ParsedLine line, int hand) {
+        return line.hasLabel(hand) ? line.label(hand) : DEFAULT_LABELS[hand];
+    }
+}
@@ -0,0 +1,106 @@
+package poker.hands.io;
+
+import poker.hands.CardMasks;
+import poker.hands.ranking.BatchEvaluator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+/* ranks a binary hand file into a parallel strengths file:
+the hand file holds fixed width records of five card indices (see CardMasks), one byte each; the strengths file gets
+one big-endian int strength (see Strengths) per hand, in the same order. The hand file is memory mapped chunk by
+chunk and the strengths are written through one reused buffer, so files much larger than the heap can be ranked.
+Each chunk is checked before it is ranked (card indices 0-51, no card twice in a hand), and the strengths go to a
+temporary file next to the strengths file, which replaces it only once all hands are ranked, so a corrupt hand file
+leaves an existing strengths file as it was
+ */
+public class HandFileRanker {
+    public static final int HAND_BYTES = 5;
+    public static final int STRENGTH_BYTES = Integer.BYTES;
+    private static final int DEFAULT_HANDS_PER_CHUNK = 1 << 20;
+
+    private final int handsPerChunk;
+    private final ForkJoinPool pool;
+
+    public HandFileRanker() {
+        this(DEFAULT_HANDS_PER_CHUNK, ForkJoinPool.commonPool());
+    }
+
+    public HandFileRanker(int handsPerChunk, ForkJoinPool pool) {
+        if (handsPerChunk < 1)
+            throw new IllegalArgumentException("at least one hand per chunk needed, got " + handsPerChunk);
+        this.handsPerChunk = handsPerChunk;
+        this.pool = pool;
+    }
+
+    /* returns the number of ranked hands */
+    public long rank(Path handFile, Path strengthFile) throws IOException {
+        Path directory = strengthFile.toAbsolutePath().getParent();
+        Path temporaryFile = Files.createTempFile(directory, strengthFile.getFileName().toString(), ".tmp");
+        try {
+            long handCount = rankInto(handFile, temporaryFile);
+            moveInto(temporaryFile, strengthFile);
+            return handCount;
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private long rankInto(Path handFile, Path strengthFile) throws IOException {
+        try (FileChannel hands = FileChannel.open(handFile, READ);
+             FileChannel strengths = FileChannel.open(strengthFile, WRITE, TRUNCATE_EXISTING)) {
+            long size = hands.size();
+            if (size % HAND_BYTES != 0)
+                throw new IOException(handFile + " is no hand file: size " + size + " is not a multiple of " + HAND_BYTES);
+
+            long handCount = size / HAND_BYTES;
+            int[] chunkStrengths = new int[(int) Math.min(handsPerChunk, handCount)];
+            ByteBuffer output = ByteBuffer.allocateDirect(chunkStrengths.length * STRENGTH_BYTES);
+            for (long firstHand = 0; firstHand < handCount; firstHand += handsPerChunk) {
+                int chunkHands = (int) Math.min(handsPerChunk, handCount - firstHand);
+                MappedByteBuffer input = hands.map(FileChannel.MapMode.READ_ONLY, firstHand * HAND_BYTES, (long) chunkHands * HAND_BYTES);
+                checkHands(handFile, input, firstHand, chunkHands);
+                BatchEvaluator.strengthsOf(input, chunkStrengths, pool);
+
+                output.clear();
+                output.asIntBuffer().put(chunkStrengths, 0, chunkHands);
+                output.limit(chunkHands * STRENGTH_BYTES);
+                while (output.hasRemaining())
+                    strengths.write(output);
+            }
+            return handCount;
+        }
+    }
+
+    private static void checkHands(Path handFile, ByteBuffer input, long firstHand, int hands) throws IOException {
+        for (int hand = 0; hand < hands; hand++) {
+            long mask = 0L;
+            for (int card = 0; card < HAND_BYTES; card++) {
+                int index = Byte.toUnsignedInt(input.get(hand * HAND_BYTES + card));
+                if (index >= CardMasks.CARDS)
+                    throw new IOException(handFile + ": no card index " + index + " in the hand at offset " + (firstHand + hand) * HAND_BYTES);
+                mask |= 1L << index;
+            }
+            if (Long.bitCount(mask) != HAND_BYTES)
+                throw new IOException(handFile + ": a card twice in the hand at offset " + (firstHand + hand) * HAND_BYTES);
+        }
+    }
+
+    private static void moveInto(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, REPLACE_EXISTING);
+        }
+    }
+}
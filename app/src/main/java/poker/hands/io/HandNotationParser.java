@@ -0,0 +1,225 @@
+package poker.hands.io;
+
+import poker.hands.CardMasks;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/* streaming parser for lines of hands in the README notation, e.g. "Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C AH":
+cards are a value (2-9, T, J, Q, K, A) followed by a suit (C, D, H, S), five cards make a hand, and a token ending
+with ':' labels the following hand. The bytes are scanned in place, so a parsed line is handed to the listener as
+card indices (see CardMasks) in reused arrays. Malformed lines are reported with their byte offset and skipped,
+so one bad line doesn't abort a large input
+ */
+public class HandNotationParser {
+    public static final int HAND_SIZE = 5;
+    private static final int MAPPED_CHUNK_BYTES = 1 << 26;
+    private static final byte[] VALUES_BY_CHAR = lookup("23456789TJQKA");
+    private static final byte[] SUITS_BY_CHAR = lookup("CDHS");
+
+    public interface Listener {
+        /* a well-formed line with at least one hand; the line is only valid during the call */
+        void hands(ParsedLine line);
+
+        void malformedLine(long lineNumber, long offset, String reason);
+    }
+
+    private final Listener listener;
+    private final ParsedLine line = new ParsedLine();
+    private long lineNumber;
+    private long bufferOffset; // offset of the current buffer's position within the whole input
+
+    public HandNotationParser(Listener listener) {
+        this.listener = listener;
+    }
+
+    /* maps the file chunk by chunk, so files larger than the heap (or 2 GB) can be parsed */
+    public void parse(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long chunkBytes = Math.min(MAPPED_CHUNK_BYTES, size - position);
+                ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, chunkBytes);
+                boolean endOfInput = position + chunkBytes == size;
+                parse(chunk, endOfInput);
+                if (chunk.position() == 0 && !endOfInput)
+                    throw new IOException("line at offset " + position + " is longer than " + MAPPED_CHUNK_BYTES + " bytes");
+                position += chunk.position();
+            }
+        }
+    }
+
+    /* parses the lines from the buffer's position to its limit and moves the position behind the last parsed line;
+    an incomplete last line (no line break) is left for the next buffer, unless this is the end of the input */
+    public void parse(ByteBuffer input, boolean endOfInput) {
+        int lineStart = input.position();
+        for (int position = lineStart; position < input.limit(); position++) {
+            if (input.get(position) == '\n') {
+                parseLine(input, lineStart, position);
+                lineStart = position + 1;
+            }
+        }
+        if (endOfInput && lineStart < input.limit()) {
+            parseLine(input, lineStart, input.limit());
+            lineStart = input.limit();
+        }
+        bufferOffset += lineStart - input.position();
+        input.position(lineStart);
+    }
+
+    private void parseLine(ByteBuffer input, int start, int end) {
+        lineNumber++;
+        long offset = bufferOffset + start - input.position();
+        if (end > start && input.get(end - 1) == '\r')
+            end--;
+
+        line.start(input, lineNumber, offset);
+        int cardsInHand = 0;
+        int labelStart = -1, labelEnd = -1;
+        long lineCards = 0L;
+        int position = start;
+        while (true) {
+            while (position < end && isWhitespace(input.get(position)))
+                position++;
+            if (position == end)
+                break;
+            int tokenStart = position;
+            while (position < end && !isWhitespace(input.get(position)))
+                position++;
+
+            long tokenOffset = offset + tokenStart - start;
+            if (input.get(position - 1) == ':') {
+                if (cardsInHand != 0 || labelStart >= 0) {
+                    listener.malformedLine(lineNumber, tokenOffset, "unexpected label " + text(input, tokenStart, position));
+                    return;
+                }
+                labelStart = tokenStart;
+                labelEnd = position - 1;
+                continue;
+            }
+            int card = position - tokenStart == 2 ? cardIndex(input.get(tokenStart), input.get(tokenStart + 1)) : -1;
+            if (card < 0) {
+                listener.malformedLine(lineNumber, tokenOffset, "invalid card " + text(input, tokenStart, position));
+                return;
+            }
+            if ((lineCards & 1L << card) != 0) {
+                listener.malformedLine(lineNumber, tokenOffset, "duplicate card " + text(input, tokenStart, position));
+                return;
+            }
+            lineCards |= 1L << card;
+            line.addCard(card);
+            if (++cardsInHand == HAND_SIZE) {
+                line.completeHand(labelStart, labelEnd);
+                cardsInHand = 0;
+                labelStart = -1;
+            }
+        }
+        if (cardsInHand != 0 || labelStart >= 0)
+            listener.malformedLine(lineNumber, offset, "incomplete hand: " + cardsInHand + " of " + HAND_SIZE + " cards");
+        else if (line.handCount() > 0)
+            listener.hands(line);
+    }
+
+    /* card index (see CardMasks) of a card in README notation, or -1 if it isn't one */
+    public static int cardIndex(byte value, byte suit) {
+        if (value < 0 || suit < 0 || VALUES_BY_CHAR[value] < 0 || SUITS_BY_CHAR[suit] < 0)
+            return -1;
+        return SUITS_BY_CHAR[suit] * CardMasks.VALUES_PER_SUIT + VALUES_BY_CHAR[value];
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private static String text(ByteBuffer input, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        input.get(start, bytes);
+        return "'" + new String(bytes, StandardCharsets.US_ASCII) + "'";
+    }
+
+    private static byte[] lookup(String chars) {
+        byte[] ordinals = new byte[128];
+        Arrays.fill(ordinals, (byte) -1);
+        for (int i = 0; i < chars.length(); i++)
+            ordinals[chars.charAt(i)] = (byte) i;
+        return ordinals;
+    }
+
+    /* the hands of one line; card and label positions refer to the parsed buffer */
+    public static final class ParsedLine {
+        private ByteBuffer input;
+        private long lineNumber;
+        private long offset;
+        private int cardCount;
+        private int handCount;
+        private byte[] cards = new byte[2 * HAND_SIZE];
+        private int[] labels = new int[4];
+
+        private void start(ByteBuffer input, long lineNumber, long offset) {
+            this.input = input;
+            this.lineNumber = lineNumber;
+            this.offset = offset;
+            cardCount = 0;
+            handCount = 0;
+        }
+
+        private void addCard(int card) {
+            if (cardCount == cards.length)
+                cards = Arrays.copyOf(cards, 2 * cards.length);
+            cards[cardCount++] = (byte) card;
+        }
+
+        private void completeHand(int labelStart, int labelEnd) {
+            if (2 * handCount == labels.length)
+                labels = Arrays.copyOf(labels, 2 * labels.length);
+            labels[2 * handCount] = labelStart;
+            labels[2 * handCount + 1] = labelEnd;
+            handCount++;
+        }
+
+        public long lineNumber() {
+            return lineNumber;
+        }
+
+        /* byte offset of the line within the whole input */
+        public long offset() {
+            return offset;
+        }
+
+        public int handCount() {
+            return handCount;
+        }
+
+        /* index (see CardMasks) of the given card (0-4) of the given hand */
+        public int card(int hand, int card) {
+            return cards[hand * HAND_SIZE + card];
+        }
+
+        public long mask(int hand) {
+            long mask = 0L;
+            for (int card = 0; card < HAND_SIZE; card++)
+                mask |= 1L << card(hand, card);
+            return mask;
+        }
+
+        public boolean hasLabel(int hand) {
+            return labels[2 * hand] >= 0;
+        }
+
+        /* label without the colon; creates a String, so it's meant for reporting */
+        public String label(int hand) {
+            if (!hasLabel(hand))
+                return null;
+            byte[] bytes = new byte[labels[2 * hand + 1] - labels[2 * hand]];
+            input.get(labels[2 * hand], bytes);
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package poker.hands.ranking;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/* strengths (see Strengths) of many hands at once, for hands stored in columns of primitive values instead of
+CardHand objects: either five card indices (see CardMasks) per hand, one byte each, or one card mask per hand.
+The strength of hand i is written to strengths[i]. Cards are not validated, so the loops stay simple enough to be
+unrolled by the JIT. Batches above a threshold can be split across the workers of a fork join pool
+ */
+public final class BatchEvaluator {
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int HAND_SIZE = 5;
+
+    private BatchEvaluator() {
+    }
+
+    public static void strengthsOf(byte[] cards, int[] strengths) {
+        int hands = handsOf(cards.length, strengths);
+        long startNanos = batchStart();
+        strengthsOf(cards, strengths, 0, hands);
+        batchEnd(hands, startNanos);
+    }
+
+    public static void strengthsOf(byte[] cards, int[] strengths, ForkJoinPool pool) {
+        inParallel(pool, handsOf(cards.length, strengths), (from, to) -> strengthsOf(cards, strengths, from, to));
+    }
+
+    /* five bytes per hand, from the buffer's position to its limit; the position is not changed */
+    public static void strengthsOf(ByteBuffer cards, int[] strengths) {
+        int hands = handsOf(cards.remaining(), strengths);
+        long startNanos = batchStart();
+        strengthsOf(cards, strengths, 0, hands);
+        batchEnd(hands, startNanos);
+    }
+
+    public static void strengthsOf(ByteBuffer cards, int[] strengths, ForkJoinPool pool) {
+        inParallel(pool, handsOf(cards.remaining(), strengths), (from, to) -> strengthsOf(cards, strengths, from, to));
+    }
+
+    /* one mask of five to seven cards per hand (see CardMasks) */
+    public static void strengthsOf(long[] masks, int[] strengths) {
+        int hands = checkedHands(masks.length, strengths);
+        long startNanos = batchStart();
+        strengthsOf(masks, strengths, 0, hands);
+        batchEnd(hands, startNanos);
+    }
+
+    public static void strengthsOf(long[] masks, int[] strengths, ForkJoinPool pool) {
+        inParallel(pool, checkedHands(masks.length, strengths), (from, to) -> strengthsOf(masks, strengths, from, to));
+    }
+
+    private static void strengthsOf(byte[] cards, int[] strengths, int from, int to) {
+        for (int hand = from, offset = from * HAND_SIZE; hand < to; hand++, offset += HAND_SIZE)
+            strengths[hand] = LookupTableEvaluator.strengthOf(
+                    cards[offset], cards[offset + 1], cards[offset + 2], cards[offset + 3], cards[offset + 4]);
+    }
+
+    private static void strengthsOf(ByteBuffer cards, int[] strengths, int from, int to) {
+        int start = cards.position();
+        for (int hand = from, offset = start + from * HAND_SIZE; hand < to; hand++, offset += HAND_SIZE)
+            strengths[hand] = LookupTableEvaluator.strengthOf(
+                    cards.get(offset), cards.get(offset + 1), cards.get(offset + 2), cards.get(offset + 3), cards.get(offset + 4));
+    }
+
+    private static void strengthsOf(long[] masks, int[] strengths, int from, int to) {
+        for (int hand = from; hand < to; hand++)
+            strengths[hand] = HandEvaluator.strengthOf(masks[hand]);
+    }
+
+    static int handsOf(int cardCount, int[] strengths) {
+        if (cardCount % HAND_SIZE != 0)
+            throw new IllegalArgumentException("expected " + HAND_SIZE + " cards per hand, got " + cardCount + " cards");
+        return checkedHands(cardCount / HAND_SIZE, strengths);
+    }
+
+    static int checkedHands(int hands, int[] strengths) {
+        if (strengths.length < hands)
+            throw new IllegalArgumentException("no room for " + hands + " strengths, only " + strengths.length);
+        return hands;
+    }
+
+    static void inParallel(ForkJoinPool pool, int hands, RangeEvaluation evaluation) {
+        long startNanos = batchStart();
+        if (hands < PARALLEL_THRESHOLD)
+            evaluation.evaluate(0, hands);
+        else
+            pool.invoke(new SplitHandRange(evaluation, 0, hands));
+        batchEnd(hands, startNanos);
+    }
+
+    // the clock is only read while metrics are enabled, see EvaluationMetrics
+    static long batchStart() {
+        return EvaluationMetrics.active() == null ? 0 : System.nanoTime();
+    }
+
+    static void batchEnd(int hands, long startNanos) {
+        EvaluationMetrics metrics = EvaluationMetrics.active();
+        if (metrics != null && startNanos != 0)
+            metrics.recordBatch(hands, System.nanoTime() - startNanos);
+    }
+
+    @FunctionalInterface
+    interface RangeEvaluation {
+        void evaluate(int from, int to);
+    }
+
+    private static final class SplitHandRange extends RecursiveAction {
+        private final RangeEvaluation evaluation;
+        private final int from;
+        private final int to;
+
+        SplitHandRange(RangeEvaluation evaluation, int from, int to) {
+            this.evaluation = evaluation;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                evaluation.evaluate(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SplitHandRange(evaluation, from, middle), new SplitHandRange(evaluation, middle, to));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package poker.hands.ranking;
+
+import poker.hands.Card;
+import poker.hands.CardMasks;
+import poker.hands.CardSuit;
+
+import java.util.List;
+
+/* best five cards out of five to seven cards (e.g. two hole cards and the board in Texas Hold'em), ranked in one pass
+by HandEvaluator instead of ranking each of the up to 21 five card subsets
+ */
+public record BestHand(Ranking ranking, List<Card> cards) {
+    private static final int HAND_SIZE = 5;
+    // bits of all four cards of the value with ordinal 0
+    private static final long VALUE_COLUMN = 1L | 1L << CardMasks.VALUES_PER_SUIT | 1L << 2 * CardMasks.VALUES_PER_SUIT | 1L << 3 * CardMasks.VALUES_PER_SUIT;
+    // cards per value group of the chosen five cards, e.g. the pair and three single cards; indexed by category ordinal
+    private static final int[][] GROUP_SIZES = {
+            {1, 1, 1, 1, 1}, // high card
+            {2, 1, 1, 1}, // pair
+            {2, 2, 1}, // two pairs
+            {3, 1, 1}, // three of a kind
+            {}, // straight
+            {}, // flush
+            {3, 2}, // full house
+            {4, 1}, // four of a kind
+            {}, // straight flush
+    };
+
+    public static BestHand of(Card... cards) {
+        long mask = CardMasks.maskOf(cards);
+        if (Long.bitCount(mask) != cards.length)
+            throw new IllegalArgumentException("cards must be distinct: " + List.of(cards));
+        return ofMask(mask);
+    }
+
+    public static BestHand ofMask(long mask) {
+        int strength = HandEvaluator.strengthOf(mask);
+        return new BestHand(Strengths.rankingOf(strength), CardMasks.cardsOf(chosenCards(mask, strength)));
+    }
+
+    /* the five cards of the given cards, that make up the given strength */
+    static long chosenCards(long mask, int strength) {
+        RankingCategory category = Strengths.categoryOf(strength);
+        int highestValue = Strengths.valuesOf(strength).get(0).ordinal();
+        switch (category) {
+            case STRAIGHT_FLUSH:
+                return straightCards(flushCards(mask), highestValue);
+            case FLUSH:
+                long flushCards = flushCards(mask);
+                while (Long.bitCount(flushCards) > HAND_SIZE)
+                    flushCards &= flushCards - 1; // drop the lowest value
+                return flushCards;
+            case STRAIGHT:
+                return straightCards(mask, highestValue);
+            default:
+                return groupedCards(mask, GROUP_SIZES[category.ordinal()]);
+        }
+    }
+
+    private static long flushCards(long mask) {
+        for (CardSuit suit : CardSuit.values()) {
+            long suitCards = mask & ((long) CardMasks.SUIT_VALUES_MASK << suit.ordinal() * CardMasks.VALUES_PER_SUIT);
+            if (Long.bitCount(suitCards) >= HAND_SIZE)
+                return suitCards;
+        }
+        throw new IllegalArgumentException("no flush in " + CardMasks.cardsOf(mask));
+    }
+
+    private static long straightCards(long mask, int highestValue) {
+        long chosen = 0L;
+        for (int value = highestValue; value > highestValue - HAND_SIZE; value--) // value -1 is the ace of the wheel
+            chosen |= Long.lowestOneBit(mask & VALUE_COLUMN << Math.floorMod(value, CardMasks.VALUES_PER_SUIT));
+        return chosen;
+    }
+
+    /* per group the highest value, that has enough cards left, like the evaluator picks them */
+    private static long groupedCards(long mask, int[] groupSizes) {
+        long chosen = 0L;
+        for (int groupSize : groupSizes) {
+            for (int value = CardMasks.VALUES_PER_SUIT - 1; value >= 0; value--) {
+                long valueCards = mask & ~chosen & VALUE_COLUMN << value;
+                if ((chosen & VALUE_COLUMN << value) == 0 && Long.bitCount(valueCards) >= groupSize) {
+                    while (Long.bitCount(valueCards) > groupSize)
+                        valueCards &= valueCards - 1;
+                    chosen |= valueCards;
+                    break;
+                }
+            }
+        }
+        return chosen;
+    }
+}
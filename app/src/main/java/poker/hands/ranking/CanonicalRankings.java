@@ -0,0 +1,88 @@
+package poker.hands.ranking;
+
+import poker.hands.Card;
+import poker.hands.CardMasks;
+import poker.hands.CardSuit;
+import poker.hands.CardValue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/* one shared Ranking per strength, so equal rankings are the same instance and keeping millions of them (e.g. in
+leaderboards) costs a reference each. The rankings of all hands of up to five cards are precomputed on first use
+(7,462 of five card hands, a few thousand more of partial hands as built incrementally), indexed by the position of
+their strength in a sorted array. The table is fixed, so a strength no hand has is rejected instead of interned
+ */
+final class CanonicalRankings {
+
+    private CanonicalRankings() {
+    }
+
+    static Ranking rankingOf(int strength) {
+        int index = Arrays.binarySearch(Table.STRENGTHS, strength);
+        if (index < 0)
+            throw new IllegalArgumentException("no hand has the strength 0x" + Integer.toHexString(strength));
+        return Table.RANKINGS[index];
+    }
+
+    static int handRankings() {
+        return Table.HAND_RANKINGS;
+    }
+
+    static int rankings() {
+        return Table.STRENGTHS.length;
+    }
+
+    private static Ranking newRanking(int strength) {
+        return new Ranking(Strengths.categoryOf(strength), Strengths.valuesOf(strength));
+    }
+
+    // holder class, so the table is built on first use only
+    private static final class Table {
+        private static final CardValue[] CARD_VALUES = CardValue.values();
+        private static final CardSuit[] SUITS = CardSuit.values();
+        static final int[] STRENGTHS;
+        static final Ranking[] RANKINGS;
+        static final int HAND_RANKINGS;
+
+        static {
+            BitSet strengths = new BitSet();
+            addAll(strengths, new int[5], 0, 0);
+            HAND_RANKINGS = strengths.cardinality();
+            for (int cards = 0; cards < 5; cards++)
+                addAll(strengths, new int[cards], 0, 0);
+            STRENGTHS = strengths.stream().toArray();
+            RANKINGS = new Ranking[STRENGTHS.length];
+            for (int i = 0; i < STRENGTHS.length; i++)
+                RANKINGS[i] = newRanking(STRENGTHS[i]);
+        }
+
+        /* all values multisets as non-decreasing ordinals, each ordinal at most four times, suited if possible. Partial
+        hands are ranked the way IncrementalEvaluator does */
+        private static void addAll(BitSet strengths, int[] ordinals, int position, int minOrdinal) {
+            if (position == ordinals.length) {
+                if (ordinals.length < 5) {
+                    strengths.set(IncrementalEvaluator.of(cards(ordinals, false)).strength());
+                    return;
+                }
+                strengths.set(HandEvaluator.rank(CardMasks.maskOf(cards(ordinals, false))));
+                if (Arrays.stream(ordinals).distinct().count() == ordinals.length)
+                    strengths.set(HandEvaluator.rank(CardMasks.maskOf(cards(ordinals, true))));
+                return;
+            }
+            for (int ordinal = minOrdinal; ordinal < CARD_VALUES.length; ordinal++) {
+                if (position >= 4 && ordinals[position - 4] == ordinal)
+                    continue;
+                ordinals[position] = ordinal;
+                addAll(strengths, ordinals, position + 1, ordinal);
+            }
+        }
+
+        private static Card[] cards(int[] ordinals, boolean suited) {
+            Card[] cards = new Card[ordinals.length];
+            for (int i = 0; i < ordinals.length; i++)
+                cards[i] = new Card(suited ? CardSuit.CLUBS : SUITS[i % SUITS.length], CARD_VALUES[ordinals[i]]);
+            return cards;
+        }
+    }
+}
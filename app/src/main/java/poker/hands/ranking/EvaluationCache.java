@@ -0,0 +1,141 @@
+package poker.hands.ranking;
+
+import poker.hands.CardMasks;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/* bounded, lock free cache of strengths by hand (five to seven cards in compact form, see CardMasks), for services
+that see the same hands over and over. An entry is a single long, so it's read and replaced atomically without locks
+or boxing: the hand's index in the combinatorial number system (less than 2^28 for up to seven of 52 cards), its
+strength and a reference bit. Hands are hashed to a window of a few slots (open addressing); a miss takes an empty
+slot or evicts by CLOCK within the window: referenced entries get a second chance, the first unreferenced one is
+replaced. Racing threads may evaluate the same hand twice, but never block each other
+ */
+public final class EvaluationCache {
+    private static final int MAX_CARDS = 7;
+    private static final int PROBES = 8;
+    private static final int STRENGTH_BITS = Strengths.CATEGORY_SHIFT + 4;
+    private static final long STRENGTH_MASK = (1L << STRENGTH_BITS) - 1;
+    private static final long REFERENCED = 1L << 63;
+    private static final long EMPTY = 0L;
+    // binomial coefficients C(n, k) for n up to 52 and k up to 7, and the number of hands with fewer than k cards
+    private static final int[][] BINOMIALS = new int[CardMasks.CARDS + 1][MAX_CARDS + 1];
+    private static final int[] SMALLER_HANDS = new int[MAX_CARDS + 1];
+
+    static {
+        for (int n = 0; n <= CardMasks.CARDS; n++) {
+            BINOMIALS[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, MAX_CARDS); k++)
+                BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + BINOMIALS[n - 1][k];
+        }
+        for (int k = 1; k <= MAX_CARDS; k++)
+            SMALLER_HANDS[k] = SMALLER_HANDS[k - 1] + BINOMIALS[CardMasks.CARDS][k - 1];
+    }
+
+    private final AtomicLongArray entries;
+    private final int slotMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /* capacity is rounded up to a power of two */
+    public EvaluationCache(int capacity) {
+        if (capacity < PROBES || capacity > 1 << 30)
+            throw new IllegalArgumentException("capacity must be between " + PROBES + " and 2^30, got " + capacity);
+        int slots = Integer.highestOneBit(capacity - 1) << 1;
+        this.entries = new AtomicLongArray(slots);
+        this.slotMask = slots - 1;
+    }
+
+    public Ranking evaluate(long mask) {
+        return Strengths.rankingOf(strengthOf(mask));
+    }
+
+    /* see HandEvaluator.strengthOf(long) */
+    public int strengthOf(long mask) {
+        long key = keyOf(mask);
+        int firstSlot = slotOf(mask);
+        for (int probe = 0; probe < PROBES; probe++) {
+            int slot = firstSlot + probe & slotMask;
+            long entry = entries.get(slot);
+            if (entry == EMPTY)
+                break; // entries are never removed, only replaced, so the hand isn't further on
+            if ((entry & ~REFERENCED) >>> STRENGTH_BITS == key) {
+                if ((entry & REFERENCED) == 0)
+                    entries.compareAndSet(slot, entry, entry | REFERENCED); // lost races only lose the reference
+                hits.increment();
+                recordLookup(true);
+                return (int) (entry & STRENGTH_MASK);
+            }
+        }
+        misses.increment();
+        recordLookup(false);
+        int strength = HandEvaluator.strengthOf(mask);
+        insert(firstSlot, key << STRENGTH_BITS | strength);
+        return strength;
+    }
+
+    private void insert(int firstSlot, long newEntry) {
+        for (int probe = 0; probe < PROBES; probe++) {
+            int slot = firstSlot + probe & slotMask;
+            long entry = entries.get(slot);
+            if (entry == EMPTY && entries.compareAndSet(slot, EMPTY, newEntry))
+                return;
+        }
+        // CLOCK sweep over the window: clear reference bits until an unreferenced entry is found
+        for (int probe = 0; probe < PROBES; probe++) {
+            int slot = firstSlot + probe & slotMask;
+            long entry = entries.get(slot);
+            if ((entry & REFERENCED) != 0)
+                entries.compareAndSet(slot, entry, entry & ~REFERENCED);
+            else if (entries.compareAndSet(slot, entry, newEntry)) {
+                evictions.increment();
+                return;
+            }
+        }
+        // all referenced: the first one has lost its second chance by now
+        long entry = entries.get(firstSlot);
+        if (entries.compareAndSet(firstSlot, entry, newEntry))
+            evictions.increment();
+    }
+
+    private static void recordLookup(boolean hit) {
+        EvaluationMetrics metrics = EvaluationMetrics.active();
+        if (metrics != null)
+            metrics.recordCacheLookup(hit);
+    }
+
+    /* index of the hand among all hands of up to seven cards, plus one so no key is 0 */
+    private static long keyOf(long mask) {
+        int cardCount = Long.bitCount(mask);
+        if (cardCount < 5 || cardCount > MAX_CARDS || mask >>> CardMasks.CARDS != 0)
+            throw new IllegalArgumentException("expected 5 to " + MAX_CARDS + " cards, got " + CardMasks.cardsOf(mask));
+        long key = SMALLER_HANDS[cardCount] + 1;
+        int k = 1;
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1)
+            key += BINOMIALS[Long.numberOfTrailingZeros(remaining)][k++];
+        return key;
+    }
+
+    private int slotOf(long mask) {
+        long hash = mask * 0x9E37_79B9_7F4A_7C15L; // Fibonacci hashing, the upper bits are well mixed
+        return (int) (hash >>> 32) & slotMask;
+    }
+
+    public int capacity() {
+        return slotMask + 1;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+}
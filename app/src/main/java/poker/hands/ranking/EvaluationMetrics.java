@@ -0,0 +1,237 @@
+package poker.hands.ranking;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/* opt-in instrumentation of the evaluators: evaluations per evaluator and category, batches, cache lookups and
+latency histograms (power of two nanosecond buckets), counted in striped LongAdders so threads don't contend.
+Each getter sums up the counters at the time of the call, so it returns a snapshot.
+While disabled, the evaluators only read one volatile field that is null. Latency is measured per batch and for
+one in BUILD_SAMPLING RankingBuilder builds only, as reading the clock would cost more than the evaluation itself.
+Enabling registers an MXBean as poker.hands:type=EvaluationMetrics
+ */
+public final class EvaluationMetrics implements EvaluationMetricsMXBean {
+    public static final String OBJECT_NAME = "poker.hands:type=EvaluationMetrics";
+    private static final RankingCategory[] CATEGORIES = RankingCategory.values();
+    private static final int LATENCY_BUCKETS = Long.SIZE;
+    /* a power of two */
+    static final int BUILD_SAMPLING = 64;
+
+    private static volatile EvaluationMetrics active;
+
+    public enum Evaluator {
+        RANKING_BUILDER, HAND_EVALUATOR, LOOKUP_TABLE
+    }
+
+    private final LongAdder[][] evaluations = new LongAdder[Evaluator.values().length][CATEGORIES.length];
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedHands = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder[] buildLatencies = newAdders(LATENCY_BUCKETS);
+    private final LongAdder[] batchLatencies = newAdders(LATENCY_BUCKETS);
+
+    private EvaluationMetrics() {
+        for (int evaluator = 0; evaluator < evaluations.length; evaluator++)
+            evaluations[evaluator] = newAdders(CATEGORIES.length);
+    }
+
+    /* starts recording with fresh counters, unless already enabled */
+    public static synchronized EvaluationMetrics enable() {
+        if (active == null) {
+            EvaluationMetrics metrics = new EvaluationMetrics();
+            register(metrics);
+            active = metrics;
+        }
+        return active;
+    }
+
+    public static synchronized void disable() {
+        if (active != null) {
+            active = null;
+            unregister();
+        }
+    }
+
+    /* the recording metrics, or null if disabled */
+    public static EvaluationMetrics active() {
+        return active;
+    }
+
+    void recordEvaluation(Evaluator evaluator, int strength) {
+        evaluations[evaluator.ordinal()][strength >>> Strengths.CATEGORY_SHIFT].increment();
+    }
+
+    void recordBuild(RankingCategory category) {
+        evaluations[Evaluator.RANKING_BUILDER.ordinal()][category.ordinal()].increment();
+    }
+
+    /* whether to time the next build, true for about one build in BUILD_SAMPLING */
+    static boolean sampleBuild() {
+        return (ThreadLocalRandom.current().nextInt() & BUILD_SAMPLING - 1) == 0;
+    }
+
+    void recordBuildLatency(long nanos) {
+        buildLatencies[bucketOf(nanos)].increment();
+    }
+
+    void recordBatch(int hands, long nanos) {
+        batches.increment();
+        batchedHands.add(hands);
+        batchLatencies[bucketOf(nanos)].increment();
+    }
+
+    void recordCacheLookup(boolean hit) {
+        (hit ? cacheHits : cacheMisses).increment();
+    }
+
+    public long evaluations(Evaluator evaluator, RankingCategory category) {
+        return evaluations[evaluator.ordinal()][category.ordinal()].sum();
+    }
+
+    public long evaluations(RankingCategory category) {
+        long sum = 0;
+        for (LongAdder[] perCategory : evaluations)
+            sum += perCategory[category.ordinal()].sum();
+        return sum;
+    }
+
+    /* RankingBuilder checks the categories from straight flush down to high card, so the number of checks follows
+    from the category found */
+    public static int chainDepthOf(RankingCategory category) {
+        return CATEGORIES.length - category.ordinal();
+    }
+
+    @Override
+    public double getAverageChainDepth() {
+        long builds = 0, checks = 0;
+        for (RankingCategory category : CATEGORIES) {
+            long count = evaluations(Evaluator.RANKING_BUILDER, category);
+            builds += count;
+            checks += count * chainDepthOf(category);
+        }
+        return builds == 0 ? 0 : (double) checks / builds;
+    }
+
+    @Override
+    public long getEvaluations() {
+        long sum = 0;
+        for (RankingCategory category : CATEGORIES)
+            sum += evaluations(category);
+        return sum;
+    }
+
+    @Override
+    public Map<String, Long> getEvaluationsByCategory() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (RankingCategory category : CATEGORIES)
+            counts.put(category.name(), evaluations(category));
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getEvaluationsByEvaluator() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Evaluator evaluator : Evaluator.values()) {
+            long sum = 0;
+            for (RankingCategory category : CATEGORIES)
+                sum += evaluations(evaluator, category);
+            counts.put(evaluator.name(), sum);
+        }
+        return counts;
+    }
+
+    @Override
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    @Override
+    public long getBatchedHands() {
+        return batchedHands.sum();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public Map<String, Long> getBuildLatencies() {
+        return histogram(buildLatencies);
+    }
+
+    @Override
+    public Map<String, Long> getBatchLatencies() {
+        return histogram(batchLatencies);
+    }
+
+    public Map<RankingCategory, Long> evaluationsByCategory(Evaluator evaluator) {
+        Map<RankingCategory, Long> counts = new EnumMap<>(RankingCategory.class);
+        for (RankingCategory category : CATEGORIES)
+            counts.put(category, evaluations(evaluator, category));
+        return counts;
+    }
+
+    /* non-empty buckets by their upper bound, e.g. "<1024ns" */
+    private static Map<String, Long> histogram(LongAdder[] buckets) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < buckets.length; bucket++) {
+            long count = buckets[bucket].sum();
+            if (count > 0)
+                counts.put(bucket == Long.SIZE - 1 ? "max" : "<" + (1L << bucket) + "ns", count);
+        }
+        return counts;
+    }
+
+    /* bucket n holds the durations below 2^n nanoseconds (and at least 2^(n-1)) */
+    static int bucketOf(long nanos) {
+        return Math.min(Long.SIZE - Long.numberOfLeadingZeros(Math.max(nanos, 0)), LATENCY_BUCKETS - 1);
+    }
+
+    private static LongAdder[] newAdders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++)
+            adders[i] = new LongAdder();
+        return adders;
+    }
+
+    private static void register(EvaluationMetrics metrics) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            try {
+                server.registerMBean(metrics, name);
+            } catch (InstanceAlreadyExistsException e) { // e.g. left over by another class loader
+                server.unregisterMBean(name);
+                server.registerMBean(metrics, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("can't register " + OBJECT_NAME, e);
+        }
+    }
+
+    private static void unregister() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+        } catch (InstanceNotFoundException e) {
+            // already gone
+        } catch (JMException e) {
+            throw new IllegalStateException("can't unregister " + OBJECT_NAME, e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package poker.hands.ranking;
+
+import java.util.Map;
+
+/* JMX view of EvaluationMetrics */
+public interface EvaluationMetricsMXBean {
+    long getEvaluations();
+
+    Map<String, Long> getEvaluationsByCategory();
+
+    Map<String, Long> getEvaluationsByEvaluator();
+
+    double getAverageChainDepth();
+
+    long getBatches();
+
+    long getBatchedHands();
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    Map<String, Long> getBuildLatencies();
+
+    Map<String, Long> getBatchLatencies();
+}
@@ -0,0 +1,262 @@
+package poker.hands.ranking;
+
+import poker.hands.Card;
+import poker.hands.CardMasks;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/* checks the evaluators against RankingBuilder (the reference implementation) on all 2,598,960 five card hands and
+measures their throughput, run with gradle checkEvaluators. The hands are enumerated once into a column of card
+indices (as BatchEvaluator takes them), the reference strengths are computed once, then each evaluator rates the
+whole column on a fork join pool, timed, and is compared hand by hand. The category counts of all hands are known,
+e.g. 40 straight flushes (with the wheel A-2-3-4-5), 624 four of a kinds, 3,744 full houses, so rule gaps show up
+even in the reference
+ */
+public final class EvaluatorHarness {
+    public static final int HANDS = 2_598_960;
+    private static final int HAND_SIZE = 5;
+    private static final int HANDS_PER_TASK = 1 << 14;
+    private static final RankingCategory[] CATEGORIES = RankingCategory.values();
+    // indexed by category ordinal
+    private static final long[] KNOWN_COUNTS = {1_302_540, 1_098_240, 123_552, 54_912, 10_200, 5_108, 3_744, 624, 40};
+
+    /* strengths of the hands in the column of card indices (five per hand) into strengths, like BatchEvaluator */
+    @FunctionalInterface
+    public interface Evaluator {
+        void strengthsOf(byte[] cards, int[] strengths, ForkJoinPool pool);
+    }
+
+    /* strength of a hand of five card indices, see CardMasks */
+    @FunctionalInterface
+    public interface HandStrength {
+        int strengthOf(int first, int second, int third, int fourth, int fifth);
+    }
+
+    private final ForkJoinPool pool;
+    private final byte[] cards = allHands();
+    private final int[] expected = new int[HANDS];
+    private final Report reference;
+
+    /* evaluates the reference strengths, which takes a while, as RankingBuilder works on streams */
+    public EvaluatorHarness(ForkJoinPool pool) {
+        this.pool = pool;
+        long nanos = timed(perHand(EvaluatorHarness::referenceStrengthOf), expected);
+        this.reference = report("RankingBuilder", expected, nanos);
+    }
+
+    public static void main(String[] args) {
+        EvaluatorHarness harness = new EvaluatorHarness(ForkJoinPool.commonPool());
+        List<Report> reports = new ArrayList<>();
+        reports.add(harness.reference());
+        reports.addAll(harness.checkAll());
+        boolean passed = true;
+        for (Report report : reports) {
+            System.out.println(report);
+            passed &= report.passed();
+        }
+        if (!passed) {
+            System.err.println("expected category counts: " + knownCounts());
+            System.exit(1);
+        }
+    }
+
+    /* the alternatives to RankingBuilder by name, each on the form of input it is made for */
+    public static Map<String, Evaluator> evaluators() {
+        Map<String, Evaluator> evaluators = new LinkedHashMap<>();
+        evaluators.put("HandEvaluator (cards)", perHand((first, second, third, fourth, fifth) -> HandEvaluator.strengthOf(
+                Card.ofIndex(first), Card.ofIndex(second), Card.ofIndex(third), Card.ofIndex(fourth), Card.ofIndex(fifth))));
+        evaluators.put("HandEvaluator (mask)", perHand((first, second, third, fourth, fifth) ->
+                HandEvaluator.strengthOf(1L << first | 1L << second | 1L << third | 1L << fourth | 1L << fifth)));
+        evaluators.put("LookupTableEvaluator", perHand(LookupTableEvaluator::strengthOf));
+        evaluators.put("BatchEvaluator", BatchEvaluator::strengthsOf);
+        evaluators.put("VectorBatchEvaluator", VectorBatchEvaluator::strengthsOf);
+        evaluators.put("IncrementalEvaluator", perHand((first, second, third, fourth, fifth) -> {
+            IncrementalEvaluator evaluator = new IncrementalEvaluator();
+            evaluator.add(first);
+            evaluator.add(second);
+            evaluator.add(third);
+            evaluator.add(fourth);
+            evaluator.add(fifth);
+            return evaluator.strength();
+        }));
+        evaluators.put("BestHand", perHand((first, second, third, fourth, fifth) ->
+                BestHand.ofMask(1L << first | 1L << second | 1L << third | 1L << fourth | 1L << fifth).ranking().strength()));
+        return evaluators;
+    }
+
+    public List<Report> checkAll() {
+        List<Report> reports = new ArrayList<>();
+        evaluators().forEach((name, evaluator) -> reports.add(check(name, evaluator)));
+        return reports;
+    }
+
+    public Report check(String name, Evaluator evaluator) {
+        int[] strengths = new int[HANDS];
+        long nanos = timed(evaluator, strengths);
+        return report(name, strengths, nanos);
+    }
+
+    public Report reference() {
+        return reference;
+    }
+
+    /* adapts an evaluator of single hands to the column, split into ranges of hands for the pool's workers */
+    public static Evaluator perHand(HandStrength hand) {
+        return (cards, strengths, pool) -> pool.invoke(new HandRangeTask(hand, cards, strengths, 0, cards.length / HAND_SIZE));
+    }
+
+    public static Map<RankingCategory, Long> knownCounts() {
+        Map<RankingCategory, Long> counts = new EnumMap<>(RankingCategory.class);
+        for (RankingCategory category : CATEGORIES)
+            counts.put(category, KNOWN_COUNTS[category.ordinal()]);
+        return counts;
+    }
+
+    private long timed(Evaluator evaluator, int[] strengths) {
+        long startNanos = System.nanoTime();
+        evaluator.strengthsOf(cards, strengths, pool);
+        return System.nanoTime() - startNanos;
+    }
+
+    private Report report(String name, int[] strengths, long nanos) {
+        long[] counts = new long[CATEGORIES.length];
+        long mismatches = 0;
+        long firstMismatch = 0L;
+        for (int hand = 0; hand < HANDS; hand++) {
+            int strength = strengths[hand];
+            if (strength != expected[hand] && mismatches++ == 0)
+                firstMismatch = maskOf(hand);
+            int category = strength >>> Strengths.CATEGORY_SHIFT;
+            if (category < counts.length)
+                counts[category]++;
+        }
+        return new Report(name, counts, mismatches, firstMismatch, nanos);
+    }
+
+    private long maskOf(int hand) {
+        long mask = 0L;
+        for (int offset = hand * HAND_SIZE; offset < (hand + 1) * HAND_SIZE; offset++)
+            mask |= 1L << cards[offset];
+        return mask;
+    }
+
+    private static int referenceStrengthOf(int first, int second, int third, int fourth, int fifth) {
+        return new RankingBuilder(Card.ofIndex(first), Card.ofIndex(second), Card.ofIndex(third), Card.ofIndex(fourth),
+                Card.ofIndex(fifth)).build().strength();
+    }
+
+    /* all hands as ascending card indices, in lexicographic order */
+    private static byte[] allHands() {
+        byte[] cards = new byte[HANDS * HAND_SIZE];
+        int offset = 0;
+        for (int first = 0; first < CardMasks.CARDS; first++)
+            for (int second = first + 1; second < CardMasks.CARDS; second++)
+                for (int third = second + 1; third < CardMasks.CARDS; third++)
+                    for (int fourth = third + 1; fourth < CardMasks.CARDS; fourth++)
+                        for (int fifth = fourth + 1; fifth < CardMasks.CARDS; fifth++) {
+                            cards[offset++] = (byte) first;
+                            cards[offset++] = (byte) second;
+                            cards[offset++] = (byte) third;
+                            cards[offset++] = (byte) fourth;
+                            cards[offset++] = (byte) fifth;
+                        }
+        return cards;
+    }
+
+    /* outcome of one evaluator over all hands */
+    public static final class Report {
+        private final String name;
+        private final long[] categoryCounts;
+        private final long mismatches;
+        private final long firstMismatch;
+        private final long nanos;
+
+        Report(String name, long[] categoryCounts, long mismatches, long firstMismatch, long nanos) {
+            this.name = name;
+            this.categoryCounts = categoryCounts;
+            this.mismatches = mismatches;
+            this.firstMismatch = firstMismatch;
+            this.nanos = nanos;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public long count(RankingCategory category) {
+            return categoryCounts[category.ordinal()];
+        }
+
+        /* hands with another strength than the reference's */
+        public long mismatches() {
+            return mismatches;
+        }
+
+        /* the first of them in compact form (see CardMasks), 0 if there is none */
+        public long firstMismatch() {
+            return firstMismatch;
+        }
+
+        public boolean hasKnownCounts() {
+            for (RankingCategory category : CATEGORIES)
+                if (count(category) != KNOWN_COUNTS[category.ordinal()])
+                    return false;
+            return true;
+        }
+
+        public boolean passed() {
+            return mismatches == 0 && hasKnownCounts();
+        }
+
+        public double handsPerSecond() {
+            return HANDS * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            String result = String.format("%-22s %,14.0f hands/s  ", name, handsPerSecond());
+            if (mismatches > 0)
+                return result + mismatches + " mismatches, first: " + CardMasks.cardsOf(firstMismatch);
+            if (!hasKnownCounts()) {
+                Map<RankingCategory, Long> counts = new EnumMap<>(RankingCategory.class);
+                for (RankingCategory category : CATEGORIES)
+                    counts.put(category, count(category));
+                return result + "unexpected category counts: " + counts;
+            }
+            return result + "ok";
+        }
+    }
+
+    private static final class HandRangeTask extends RecursiveAction {
+        private final HandStrength hand;
+        private final byte[] cards;
+        private final int[] strengths;
+        private final int from;
+        private final int to;
+
+        HandRangeTask(HandStrength hand, byte[] cards, int[] strengths, int from, int to) {
+            this.hand = hand;
+            this.cards = cards;
+            this.strengths = strengths;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > HANDS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new HandRangeTask(hand, cards, strengths, from, middle), new HandRangeTask(hand, cards, strengths, middle, to));
+                return;
+            }
+            for (int i = from, offset = from * HAND_SIZE; i < to; i++, offset += HAND_SIZE)
+                strengths[i] = hand.strengthOf(cards[offset], cards[offset + 1], cards[offset + 2], cards[offset + 3], cards[offset + 4]);
+        }
+    }
+}
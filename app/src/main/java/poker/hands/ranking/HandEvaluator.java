@@ -0,0 +1,139 @@
+package poker.hands.ranking;
+
+import poker.hands.Card;
+import poker.hands.CardMasks;
+import poker.hands.CardSuit;
+import poker.hands.CardValue;
+
+import java.util.Arrays;
+
+import static poker.hands.ranking.RankingCategory.*;
+
+/* allocation free counterpart of RankingBuilder (which stays the reference implementation):
+the cards are read once into a values histogram of bit masks (bit n stands for the value with ordinal n),
+so each check of the chain is a bit operation on primitive locals instead of a stream. The result is a packed
+strength (see Strengths), which is only turned into a Ranking on request
+ */
+public final class HandEvaluator {
+    private static final int VALUE_MASK = CardMasks.SUIT_VALUES_MASK;
+    private static final int STRAIGHT_LENGTH = 5;
+    private static final int ACE = CardValue.ACE.ordinal();
+    private static final int MAX_CARDS = 7;
+
+    private HandEvaluator() {
+    }
+
+    public static Ranking evaluate(Card first, Card second, Card third, Card fourth, Card fifth) {
+        return Strengths.rankingOf(strengthOf(first, second, third, fourth, fifth));
+    }
+
+    /* five cards, or the best five of six or seven cards (see BestHand) */
+    public static int strengthOf(Card... cards) {
+        if (cards.length == 5)
+            return strengthOf(cards[0], cards[1], cards[2], cards[3], cards[4]);
+        long mask = CardMasks.maskOf(cards);
+        if (Long.bitCount(mask) != cards.length)
+            throw new IllegalArgumentException("cards must be distinct: " + Arrays.toString(cards));
+        return strengthOf(mask);
+    }
+
+    public static int strengthOf(Card first, Card second, Card third, Card fourth, Card fifth) {
+        long histogram = count(count(count(count(count(0L, first), second), third), fourth), fifth);
+        int once = (int) histogram & VALUE_MASK;
+        int twice = (int) (histogram >>> 16) & VALUE_MASK;
+        int thrice = (int) (histogram >>> 32) & VALUE_MASK;
+        int fourTimes = (int) (histogram >>> 48) & VALUE_MASK;
+        // suits as one-hot bits: the hand is a flush if all cards share the same bit
+        boolean flush = (1 << first.suit().ordinal()
+                & 1 << second.suit().ordinal()
+                & 1 << third.suit().ordinal()
+                & 1 << fourth.suit().ordinal()
+                & 1 << fifth.suit().ordinal()) != 0;
+        return recorded(strengthOf(once, twice, thrice, fourTimes, flush ? once : 0));
+    }
+
+    /* cards in compact form (see CardMasks): a hand of five cards, or six or seven cards to rank the best five of them */
+    public static int strengthOf(long mask) {
+        return recorded(rank(mask));
+    }
+
+    /* strengthOf(long) without recording metrics, for building tables and for callers that evaluate too many hands to
+    count each of them, e.g. simulations that keep their own statistics */
+    public static int rank(long mask) {
+        int cardCount = Long.bitCount(mask);
+        if (cardCount < 5 || cardCount > MAX_CARDS)
+            throw new IllegalArgumentException("expected 5 to " + MAX_CARDS + " cards, got " + cardCount);
+        int clubs = CardMasks.valuesOf(mask, CardSuit.CLUBS);
+        int diamonds = CardMasks.valuesOf(mask, CardSuit.DIAMONDS);
+        int hearts = CardMasks.valuesOf(mask, CardSuit.HEARTS);
+        int spades = CardMasks.valuesOf(mask, CardSuit.SPADES);
+        // the values histogram follows from the suits a value occurs in
+        int once = clubs | diamonds | hearts | spades;
+        int twice = (clubs & diamonds) | (clubs & hearts) | (clubs & spades) | (diamonds & hearts) | (diamonds & spades) | (hearts & spades);
+        int thrice = (clubs & diamonds & hearts) | (clubs & diamonds & spades) | (clubs & hearts & spades) | (diamonds & hearts & spades);
+        int fourTimes = clubs & diamonds & hearts & spades;
+        // with up to seven cards, at most one suit can have five of them
+        int flushValues = Integer.bitCount(clubs) >= 5 ? clubs
+                : Integer.bitCount(diamonds) >= 5 ? diamonds
+                : Integer.bitCount(hearts) >= 5 ? hearts
+                : Integer.bitCount(spades) >= 5 ? spades : 0;
+        return strengthOf(once, twice, thrice, fourTimes, flushValues);
+    }
+
+    private static int recorded(int strength) {
+        EvaluationMetrics metrics = EvaluationMetrics.active();
+        if (metrics != null)
+            metrics.recordEvaluation(EvaluationMetrics.Evaluator.HAND_EVALUATOR, strength);
+        return strength;
+    }
+
+    /* same chain as RankingBuilder, on the values histogram; with more than five cards each check picks the best five
+    cards of its category, the values of the flush suit (or 0) are enough for the flush checks */
+    static int strengthOf(int once, int twice, int thrice, int fourTimes, int flushValues) {
+        return strengthOf(once, twice, thrice, fourTimes, flushValues, straightEnds(once), straightEnds(flushValues));
+    }
+
+    /* the chain with the straights already found (see straightEnds), e.g. for many hands at once */
+    static int strengthOf(int once, int twice, int thrice, int fourTimes, int flushValues, int straights, int straightFlushes) {
+        if (straightFlushes != 0)
+            return Strengths.of(STRAIGHT_FLUSH, Integer.highestOneBit(straightFlushes));
+        if (fourTimes != 0)
+            return Strengths.of(FOUR_OF_A_KND, fourTimes, once & ~fourTimes);
+        int highestThree = Integer.highestOneBit(thrice);
+        if (thrice != 0 && (twice & ~highestThree) != 0) // a second three of a kind counts as the pair
+            return Strengths.of(FULL_HOUSE, highestThree, Integer.highestOneBit(twice & ~highestThree));
+        if (flushValues != 0)
+            return Strengths.of(FLUSH, flushValues);
+        if (straights != 0)
+            return Strengths.of(STRAIGHT, Integer.highestOneBit(straights));
+        if (thrice != 0)
+            return Strengths.of(THREE_OF_A_KIND, highestThree, once & ~highestThree);
+        if (Integer.bitCount(twice) >= 2) {
+            int highestPair = Integer.highestOneBit(twice);
+            int pairs = highestPair | Integer.highestOneBit(twice & ~highestPair);
+            return Strengths.of(TWO_PAIRS, pairs, once & ~pairs);
+        }
+        if (twice != 0)
+            return Strengths.of(PAIR, twice, once & ~twice);
+
+        return Strengths.of(HIGH_CARD, once);
+    }
+
+    /* values histogram as four 16 bit lanes: bit n of lane k is set if the value with ordinal n occurs more than k times,
+    so counting a card means setting its bit in the lowest lane that doesn't contain it yet */
+    private static long count(long histogram, Card card) {
+        long missing = (0x0001_0001_0001_0001L << card.value().ordinal()) & ~histogram;
+        return histogram | (missing & -missing);
+    }
+
+    /* the highest cards of all straights within the given value mask: bit n is set, if there is a straight up to the
+    value with ordinal n. The ace also counts as the lowest value, so A-2-3-4-5 (the wheel) is a straight with the five
+    as highest card */
+    static int straightEnds(int valueMask) {
+        int values = valueMask << 1 | valueMask >>> ACE & 1; // bit n+1 stands for ordinal n, bit 0 for the low ace
+        int straightEnds = values;
+        for (int i = 1; i < STRAIGHT_LENGTH; i++)
+            straightEnds &= values << i; // bit n stays set, if the values n-i are part of the mask as well
+        return straightEnds >>> 1;
+    }
+}
@@ -0,0 +1,105 @@
+package poker.hands.ranking;
+
+import poker.hands.Card;
+import poker.hands.CardMasks;
+
+/* evaluation state of a growing (or shrinking) set of up to seven cards, e.g. hole cards and the board dealt street
+by street: adding or removing a card updates the values histogram (see HandEvaluator) and the card mask in O(1), so
+the current strength is the histogram checks only, without reading all cards again. With fewer than five cards the
+strength ranks the cards there are, e.g. a pair of hole cards. Mutable and not thread safe; copy() branches the state,
+e.g. for a tree search
+ */
+public final class IncrementalEvaluator {
+    private static final int MAX_CARDS = 7;
+    private static final long VALUE_LANES = 0x0001_0001_0001_0001L;
+    private static final int LANE_BITS = 16;
+    private static final int SUITS = 4;
+
+    private long cards;
+    private long histogram;
+
+    public IncrementalEvaluator() {
+    }
+
+    private IncrementalEvaluator(long cards, long histogram) {
+        this.cards = cards;
+        this.histogram = histogram;
+    }
+
+    public static IncrementalEvaluator of(Card... cards) {
+        IncrementalEvaluator evaluator = new IncrementalEvaluator();
+        for (Card card : cards)
+            evaluator.add(card);
+        return evaluator;
+    }
+
+    public IncrementalEvaluator copy() {
+        return new IncrementalEvaluator(cards, histogram);
+    }
+
+    public void add(Card card) {
+        add(card.index());
+    }
+
+    /* card index 0-51, see CardMasks */
+    public void add(int card) {
+        long bit = bitOf(card);
+        if ((cards & bit) != 0)
+            throw new IllegalArgumentException("card already added: " + Card.ofIndex(card));
+        if (size() == MAX_CARDS)
+            throw new IllegalArgumentException("at most " + MAX_CARDS + " cards");
+        cards |= bit;
+        // set the value's bit in the lowest lane that doesn't contain it yet
+        long missing = (VALUE_LANES << card % CardMasks.VALUES_PER_SUIT) & ~histogram;
+        histogram |= missing & -missing;
+    }
+
+    public void remove(Card card) {
+        remove(card.index());
+    }
+
+    public void remove(int card) {
+        long bit = bitOf(card);
+        if ((cards & bit) == 0)
+            throw new IllegalArgumentException("card not added: " + Card.ofIndex(card));
+        cards ^= bit;
+        // clear the value's bit in the highest lane that contains it
+        histogram ^= Long.highestOneBit((VALUE_LANES << card % CardMasks.VALUES_PER_SUIT) & histogram);
+    }
+
+    private static long bitOf(int card) {
+        if (card < 0 || card >= CardMasks.CARDS)
+            throw new IllegalArgumentException("no card index " + card + ", expected 0-" + (CardMasks.CARDS - 1));
+        return 1L << card;
+    }
+
+    public int size() {
+        return Long.bitCount(cards);
+    }
+
+    /* compact form, see CardMasks */
+    public long mask() {
+        return cards;
+    }
+
+    /* strength of the best five cards (see Strengths), or of all cards if there are less than five */
+    public int strength() {
+        int flushValues = 0;
+        if (size() >= 5)
+            for (int suit = 0; suit < SUITS; suit++) {
+                int suitValues = (int) (cards >>> suit * CardMasks.VALUES_PER_SUIT) & CardMasks.SUIT_VALUES_MASK;
+                if (Integer.bitCount(suitValues) >= 5)
+                    flushValues = suitValues;
+            }
+        return HandEvaluator.strengthOf(
+                (int) histogram & CardMasks.SUIT_VALUES_MASK,
+                (int) (histogram >>> LANE_BITS) & CardMasks.SUIT_VALUES_MASK,
+                (int) (histogram >>> 2 * LANE_BITS) & CardMasks.SUIT_VALUES_MASK,
+                (int) (histogram >>> 3 * LANE_BITS) & CardMasks.SUIT_VALUES_MASK,
+                flushValues);
+    }
+
+    public Ranking ranking() {
+        return Strengths.rankingOf(strength());
+    }
+}
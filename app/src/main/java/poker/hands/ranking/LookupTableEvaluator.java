@@ -0,0 +1,138 @@
+package poker.hands.ranking;
+
+import poker.hands.Card;
+import poker.hands.CardMasks;
+import poker.hands.CardSuit;
+import poker.hands.CardValue;
+
+/* evaluator with a constant per hand cost: all strengths are precomputed by HandEvaluator, so ranking a hand is
+one lookup, either in the flush table (indexed by the mask of values) or in the values table (indexed by a perfect
+hash of the values multiset). Building both tables takes about 7,500 evaluations, which is faster than reading them
+from a bundled resource, so they are built lazily on first use
+ */
+public final class LookupTableEvaluator {
+    /* keys per value ordinal, chosen greedily so that the sums of all multisets of up to five values (each value at
+    most four times) are unique: the sum of the keys of five cards is a perfect hash of their values */
+    private static final int[] VALUE_KEYS = {0, 1, 5, 22, 94, 312, 992, 2422, 5624, 12522, 19998, 43258, 79415};
+
+    private LookupTableEvaluator() {
+    }
+
+    public static Ranking evaluate(Card first, Card second, Card third, Card fourth, Card fifth) {
+        return Strengths.rankingOf(strengthOf(first, second, third, fourth, fifth));
+    }
+
+    /* cards as indices 0-51 (see CardMasks), e.g. for batches of hands stored in primitive arrays; not validated */
+    public static int strengthOf(int first, int second, int third, int fourth, int fifth) {
+        boolean flush = (Tables.SUIT_BITS[first]
+                & Tables.SUIT_BITS[second]
+                & Tables.SUIT_BITS[third]
+                & Tables.SUIT_BITS[fourth]
+                & Tables.SUIT_BITS[fifth]) != 0;
+        if (flush)
+            return recorded(Tables.FLUSHES[Tables.VALUE_BITS[first]
+                    | Tables.VALUE_BITS[second]
+                    | Tables.VALUE_BITS[third]
+                    | Tables.VALUE_BITS[fourth]
+                    | Tables.VALUE_BITS[fifth]]);
+        return recorded(Tables.VALUES[Tables.KEYS[first]
+                + Tables.KEYS[second]
+                + Tables.KEYS[third]
+                + Tables.KEYS[fourth]
+                + Tables.KEYS[fifth]]);
+    }
+
+    public static int strengthOf(Card first, Card second, Card third, Card fourth, Card fifth) {
+        boolean flush = (1 << first.suit().ordinal()
+                & 1 << second.suit().ordinal()
+                & 1 << third.suit().ordinal()
+                & 1 << fourth.suit().ordinal()
+                & 1 << fifth.suit().ordinal()) != 0;
+        if (flush)
+            return recorded(Tables.FLUSHES[1 << first.value().ordinal()
+                    | 1 << second.value().ordinal()
+                    | 1 << third.value().ordinal()
+                    | 1 << fourth.value().ordinal()
+                    | 1 << fifth.value().ordinal()]);
+        return recorded(Tables.VALUES[VALUE_KEYS[first.value().ordinal()]
+                + VALUE_KEYS[second.value().ordinal()]
+                + VALUE_KEYS[third.value().ordinal()]
+                + VALUE_KEYS[fourth.value().ordinal()]
+                + VALUE_KEYS[fifth.value().ordinal()]]);
+    }
+
+    /* parts of the lookup for evaluators, that combine precomputed groups of cards (see OmahaEvaluator): the values
+    key of a card index, the strength of the sum of the keys of five cards without flush, and of a flush's values */
+    static int valueKeyOf(int card) {
+        return Tables.KEYS[card];
+    }
+
+    static int strengthOfKeys(int keys) {
+        return Tables.VALUES[keys];
+    }
+
+    static int flushStrengthOf(int valueMask) {
+        return Tables.FLUSHES[valueMask];
+    }
+
+    private static int recorded(int strength) {
+        EvaluationMetrics metrics = EvaluationMetrics.active();
+        if (metrics != null)
+            metrics.recordEvaluation(EvaluationMetrics.Evaluator.LOOKUP_TABLE, strength);
+        return strength;
+    }
+
+    // holder class, so the tables are built on first use only
+    private static final class Tables {
+        private static final CardValue[] CARD_VALUES = CardValue.values();
+        static final int[] FLUSHES = new int[1 << CARD_VALUES.length];
+        static final int[] VALUES = new int[4 * VALUE_KEYS[CARD_VALUES.length - 1] + VALUE_KEYS[CARD_VALUES.length - 2] + 1];
+        // per card index: one-hot suit, value bit and value key
+        static final int[] SUIT_BITS = new int[CardMasks.CARDS];
+        static final int[] VALUE_BITS = new int[CardMasks.CARDS];
+        static final int[] KEYS = new int[CardMasks.CARDS];
+
+        static {
+            int[] ordinals = new int[5];
+            fill(ordinals, 0, 0);
+            for (int index = 0; index < CardMasks.CARDS; index++) {
+                Card card = Card.ofIndex(index);
+                SUIT_BITS[index] = 1 << card.suit().ordinal();
+                VALUE_BITS[index] = 1 << card.value().ordinal();
+                KEYS[index] = VALUE_KEYS[card.value().ordinal()];
+            }
+        }
+
+        /* enumerates all values multisets as non-decreasing ordinals, each ordinal at most four times */
+        private static void fill(int[] ordinals, int position, int minOrdinal) {
+            if (position == ordinals.length) {
+                store(ordinals);
+                return;
+            }
+            for (int ordinal = minOrdinal; ordinal < CARD_VALUES.length; ordinal++) {
+                if (position >= 4 && ordinals[position - 4] == ordinal)
+                    continue;
+                ordinals[position] = ordinal;
+                fill(ordinals, position + 1, ordinal);
+            }
+        }
+
+        private static void store(int[] ordinals) {
+            Card[] cards = new Card[ordinals.length];
+            int valueMask = 0;
+            int key = 0;
+            for (int i = 0; i < ordinals.length; i++) {
+                // alternate suits, so only hands of distinct values can be a flush and no value repeats a suit
+                cards[i] = new Card(CardSuit.values()[i % 4], CARD_VALUES[ordinals[i]]);
+                valueMask |= 1 << ordinals[i];
+                key += VALUE_KEYS[ordinals[i]];
+            }
+            VALUES[key] = HandEvaluator.rank(CardMasks.maskOf(cards));
+            if (Integer.bitCount(valueMask) == cards.length) {
+                for (int i = 0; i < cards.length; i++)
+                    cards[i] = new Card(CardSuit.CLUBS, cards[i].value());
+                FLUSHES[valueMask] = HandEvaluator.rank(CardMasks.maskOf(cards));
+            }
+        }
+    }
+}
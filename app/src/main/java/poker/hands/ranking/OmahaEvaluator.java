@@ -0,0 +1,196 @@
+package poker.hands.ranking;
+
+import poker.hands.Card;
+import poker.hands.CardMasks;
+
+import java.util.List;
+
+import static poker.hands.ranking.RankingCategory.*;
+
+/* best hand of Omaha hole cards (four, or five in 5-card PLO) on a board of three to five cards: the hand is made of
+exactly two hole cards and three board cards, so there are up to 6 x 10 (or 10 x 10) combinations. The board side is
+prepared once per board, as all players share it: each triple of board cards is reduced to the sum of its value keys,
+its values and its suit, if it has only one (see LookupTableEvaluator). So a combination is an addition and a table
+lookup, and a flush is only looked up for two hole cards of the triple's suit. Triples with the same values as a
+kept one are dropped, unless they can make a flush. The remaining triples are ordered by the highest category
+they can reach with any two cards (e.g. an unpaired, off suit triple without a straight in reach makes three of a
+kind at most), so the search stops as soon as no remaining triple can beat the best combination so far
+ */
+public final class OmahaEvaluator {
+    private static final int MIN_BOARD_CARDS = 3;
+    private static final int MAX_BOARD_CARDS = 5;
+    private static final int MIN_HOLE_CARDS = 4;
+    private static final int MAX_HOLE_CARDS = 5;
+    private static final int NO_SUIT = -1;
+    private static final int NOT_SUITED = -2; // of two hole cards, never equal to a triple's suit
+    private static final int PAIR_BITS = 12;
+    private static final int COMBINATION_BITS = PAIR_BITS + Byte.SIZE;
+    // values of each straight, from 5-4-3-2-A (the wheel) up to A-K-Q-J-10
+    private static final int[] STRAIGHTS = {
+            0x100F, 0x1F, 0x1F << 1, 0x1F << 2, 0x1F << 3, 0x1F << 4, 0x1F << 5, 0x1F << 6, 0x1F << 7, 0x1F << 8};
+
+    private static final int MAX_TRIPLES = MAX_BOARD_CARDS * (MAX_BOARD_CARDS - 1) * (MAX_BOARD_CARDS - 2) / 6;
+
+    private final int[] cards = new int[MAX_BOARD_CARDS];
+    private final long[] tripleMasks = new long[MAX_TRIPLES];
+    private final int[] tripleKeys = new int[MAX_TRIPLES];
+    private final int[] tripleValues = new int[MAX_TRIPLES];
+    private final int[] tripleSuits = new int[MAX_TRIPLES];
+    private final int[] tripleCeilings = new int[MAX_TRIPLES];
+    private long board;
+    private int triples;
+
+    /* without a board yet, see prepare */
+    public OmahaEvaluator() {
+    }
+
+    public static OmahaEvaluator ofBoard(Card... board) {
+        long mask = CardMasks.maskOf(board);
+        if (Long.bitCount(mask) != board.length)
+            throw new IllegalArgumentException("cards must be distinct: " + List.of(board));
+        return ofBoard(mask);
+    }
+
+    /* board cards in compact form, see CardMasks */
+    public static OmahaEvaluator ofBoard(long board) {
+        OmahaEvaluator evaluator = new OmahaEvaluator();
+        evaluator.prepare(board);
+        return evaluator;
+    }
+
+    /* prepares the board side for another board in place, so one evaluator serves many boards (e.g. all run-outs
+    of a thread) without allocating */
+    public void prepare(long board) {
+        int boardCards = Long.bitCount(board);
+        if (boardCards < MIN_BOARD_CARDS || boardCards > MAX_BOARD_CARDS || board >>> CardMasks.CARDS != 0)
+            throw new IllegalArgumentException("expected " + MIN_BOARD_CARDS + " to " + MAX_BOARD_CARDS + " board cards, got " + CardMasks.cardsOf(board));
+        this.board = board;
+        int boardValues = 0;
+        int count = 0;
+        for (long remaining = board; remaining != 0; remaining &= remaining - 1) {
+            int card = Long.numberOfTrailingZeros(remaining);
+            cards[count++] = card;
+            boardValues |= 1 << card % CardMasks.VALUES_PER_SUIT;
+        }
+        // only triples of a paired board can have the same values
+        boolean paired = Integer.bitCount(boardValues) < boardCards;
+        int kept = 0;
+        for (int first = 0; first < boardCards; first++)
+            for (int second = first + 1; second < boardCards; second++)
+                for (int third = second + 1; third < boardCards; third++) {
+                    int a = cards[first], b = cards[second], c = cards[third];
+                    int key = LookupTableEvaluator.valueKeyOf(a) + LookupTableEvaluator.valueKeyOf(b) + LookupTableEvaluator.valueKeyOf(c);
+                    int suit = a / CardMasks.VALUES_PER_SUIT;
+                    if (b / CardMasks.VALUES_PER_SUIT != suit || c / CardMasks.VALUES_PER_SUIT != suit)
+                        suit = NO_SUIT;
+                    if (paired && suit == NO_SUIT && isKept(key, kept))
+                        continue;
+                    int values = 1 << a % CardMasks.VALUES_PER_SUIT | 1 << b % CardMasks.VALUES_PER_SUIT | 1 << c % CardMasks.VALUES_PER_SUIT;
+                    int ceiling = ceilingOf(values, suit);
+                    // insertion by ceiling, highest first
+                    int position = kept++;
+                    for (; position > 0 && tripleCeilings[position - 1] < ceiling; position--)
+                        move(position - 1, position);
+                    tripleMasks[position] = 1L << a | 1L << b | 1L << c;
+                    tripleKeys[position] = key;
+                    tripleValues[position] = values;
+                    tripleSuits[position] = suit;
+                    tripleCeilings[position] = ceiling;
+                }
+        this.triples = kept;
+    }
+
+    public long board() {
+        return board;
+    }
+
+    /* strength (see Strengths) of the best two of the hole cards with the best three of the board cards */
+    public int strengthOf(long holeCards) {
+        return (int) (bestCombination(holeCards) >>> COMBINATION_BITS);
+    }
+
+    public BestHand bestHand(Card... holeCards) {
+        long mask = CardMasks.maskOf(holeCards);
+        if (Long.bitCount(mask) != holeCards.length)
+            throw new IllegalArgumentException("cards must be distinct: " + List.of(holeCards));
+        return bestHand(mask);
+    }
+
+    public BestHand bestHand(long holeCards) {
+        long combination = bestCombination(holeCards);
+        int strength = (int) (combination >>> COMBINATION_BITS);
+        int triple = (int) combination >>> PAIR_BITS & 0xFF;
+        int pair = (int) combination & (1 << PAIR_BITS) - 1;
+        long cards = tripleMasks[triple] | 1L << pair % CardMasks.CARDS | 1L << pair / CardMasks.CARDS;
+        return new BestHand(Strengths.rankingOf(strength), CardMasks.cardsOf(cards));
+    }
+
+    /* strength << 20 | triple << 12 | the two hole cards' indices as first * 52 + second (less than 2^12) */
+    private long bestCombination(long holeCards) {
+        if (board == 0)
+            throw new IllegalStateException("no board prepared");
+        int holeCardCount = Long.bitCount(holeCards);
+        if (holeCardCount < MIN_HOLE_CARDS || holeCardCount > MAX_HOLE_CARDS || holeCards >>> CardMasks.CARDS != 0)
+            throw new IllegalArgumentException("expected " + MIN_HOLE_CARDS + " or " + MAX_HOLE_CARDS + " hole cards, got " + CardMasks.cardsOf(holeCards));
+        if ((holeCards & board) != 0)
+            throw new IllegalArgumentException("cards on the board and in the hand: " + CardMasks.cardsOf(holeCards & board));
+        int best = -1;
+        int bestTriple = 0, bestFirst = 0, bestSecond = 0;
+        for (long firsts = holeCards; firsts != 0; firsts &= firsts - 1) {
+            int first = Long.numberOfTrailingZeros(firsts);
+            int firstKey = LookupTableEvaluator.valueKeyOf(first);
+            int firstSuit = first / CardMasks.VALUES_PER_SUIT;
+            for (long seconds = firsts & firsts - 1; seconds != 0; seconds &= seconds - 1) {
+                int second = Long.numberOfTrailingZeros(seconds);
+                int key = firstKey + LookupTableEvaluator.valueKeyOf(second);
+                int values = 1 << first % CardMasks.VALUES_PER_SUIT | 1 << second % CardMasks.VALUES_PER_SUIT;
+                int suit = second / CardMasks.VALUES_PER_SUIT == firstSuit ? firstSuit : NOT_SUITED;
+                // the triples are ordered by ceiling, so the first one that can't beat the best ends the search
+                for (int triple = 0; triple < triples && tripleCeilings[triple] > best; triple++) {
+                    int strength = tripleSuits[triple] == suit
+                            ? LookupTableEvaluator.flushStrengthOf(tripleValues[triple] | values)
+                            : LookupTableEvaluator.strengthOfKeys(tripleKeys[triple] + key);
+                    if (strength > best) {
+                        best = strength;
+                        bestTriple = triple;
+                        bestFirst = first;
+                        bestSecond = second;
+                    }
+                }
+            }
+        }
+        return (long) best << COMBINATION_BITS | bestTriple << PAIR_BITS | bestFirst * CardMasks.CARDS + bestSecond;
+    }
+
+    /* true if one of the kept triples has the same values (keys are unique per values) */
+    private boolean isKept(int key, int kept) {
+        for (int triple = 0; triple < kept; triple++)
+            if (tripleKeys[triple] == key)
+                return true;
+        return false;
+    }
+
+    /* highest strength the triple can reach with any two other cards */
+    private static int ceilingOf(int values, int suit) {
+        if (Integer.bitCount(values) < 3)
+            return highestOf(FOUR_OF_A_KND); // a paired triple plus a pair
+        boolean straight = false;
+        for (int straightValues : STRAIGHTS)
+            straight |= (values & ~straightValues) == 0;
+        if (suit != NO_SUIT)
+            return highestOf(straight ? STRAIGHT_FLUSH : FLUSH);
+        return highestOf(straight ? STRAIGHT : THREE_OF_A_KIND);
+    }
+
+    private static int highestOf(RankingCategory category) {
+        return (category.ordinal() + 1 << Strengths.CATEGORY_SHIFT) - 1;
+    }
+
+    private void move(int from, int to) {
+        tripleMasks[to] = tripleMasks[from];
+        tripleKeys[to] = tripleKeys[from];
+        tripleValues[to] = tripleValues[from];
+        tripleSuits[to] = tripleSuits[from];
+        tripleCeilings[to] = tripleCeilings[from];
+    }
+}
@@ -1,41 +1,44 @@
 package poker.hands.ranking;
 
 import poker.hands.CardValue;
-import util.Lists;
 
 import java.util.List;
-import java.util.Objects;
 
+/* instances are canonical (see CanonicalRankings): there is one per strength, so equality is identity */
 public class Ranking implements Comparable<Ranking> {
 
     private final RankingCategory category;
     private final List<CardValue> valuesForSameTypeComparison;
+    private final int strength;
 
     Ranking(RankingCategory category, List<CardValue> valuesForSameTypeComparison) {
         this.category = category;
         this.valuesForSameTypeComparison = List.copyOf(valuesForSameTypeComparison);
+        this.strength = Strengths.of(category, this.valuesForSameTypeComparison);
+    }
+
+    public RankingCategory category() {
+        return category;
+    }
+
+    // packed form of category and values, ordered like the rankings themselves (see Strengths)
+    public int strength() {
+        return strength;
     }
 
     @Override
     public int compareTo(Ranking o) {
-        if (category.equals(o.category)) {
-            assert valuesForSameTypeComparison.size() == o.valuesForSameTypeComparison.size();
-            return Lists.compareByElements(valuesForSameTypeComparison, o.valuesForSameTypeComparison);
-        } else
-            return category.compareTo(o.category);
+        return Strengths.compare(strength, o.strength);
     }
 
     @Override
     public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Ranking ranking = (Ranking) o;
-        return category == ranking.category && valuesForSameTypeComparison.equals(ranking.valuesForSameTypeComparison);
+        return this == o;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(category, valuesForSameTypeComparison);
+        return strength;
     }
 
     @Override
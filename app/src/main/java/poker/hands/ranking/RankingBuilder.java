@@ -29,21 +29,32 @@ public class RankingBuilder {
     }
 
     public Ranking build() {
-        return beginWithStraightFlush();
+        EvaluationMetrics metrics = EvaluationMetrics.active();
+        if (metrics == null)
+            return beginWithStraightFlush();
+        Ranking ranking;
+        if (EvaluationMetrics.sampleBuild()) {
+            long startNanos = System.nanoTime();
+            ranking = beginWithStraightFlush();
+            metrics.recordBuildLatency(System.nanoTime() - startNanos);
+        } else
+            ranking = beginWithStraightFlush();
+        metrics.recordBuild(ranking.category());
+        return ranking;
     }
 
     private Ranking beginWithStraightFlush() {
         if (isStraight() && isFlush())
-            return straightFlushWithHighCard(highestValue());
+            return straightFlushWithHighCard(highestStraightValue());
 
         return continueWithFourOfAKind();
     }
 
     private Ranking continueWithFourOfAKind() {
         if (valueOccurrenceOf(firstValue) == 4) // case XXXXY
-            return fourOfAKind(firstValue);
+            return fourOfAKindWithRemainingCard(firstValue, fifthValue);
         else if (valueOccurrenceOf(fifthValue) == 4) // case XYYYY
-            return fourOfAKind(fifthValue);
+            return fourOfAKindWithRemainingCard(fifthValue, firstValue);
 
         return continueWithFullHouse();
     }
@@ -53,9 +64,9 @@ public class RankingBuilder {
         long lastOccurrence = valueOccurrenceOf(fifthValue);
 
         if (firstOccurrence == 2 && lastOccurrence == 3) // case XXYYY
-            return fullHouseWithThree(fifthValue);
+            return fullHouseWithThreeAndPair(fifthValue, firstValue);
         else if (firstOccurrence == 3 && lastOccurrence == 2) // case XXXYY
-            return fullHouseWithThree(firstValue);
+            return fullHouseWithThreeAndPair(firstValue, fifthValue);
 
         return continueWithFlush();
     }
@@ -69,18 +80,18 @@ public class RankingBuilder {
 
     private Ranking continueWithStraight() {
         if (isStraight())
-            return straightWithHighest(highestValue());
+            return straightWithHighest(highestStraightValue());
 
         return continueWithThreeOfAKind();
     }
 
     private Ranking continueWithThreeOfAKind() {
         if (valueOccurrenceOf(firstValue) == 3) // case XXXYZ
-            return threeOfAKind(firstValue);
+            return threeOfAKindWithRemainingCards(firstValue, valuesDescWithout(firstValue));
         else if (valueOccurrenceOf(thirdValue) == 3) // case XYYYZ
-            return threeOfAKind(thirdValue);
+            return threeOfAKindWithRemainingCards(thirdValue, valuesDescWithout(thirdValue));
         else if (valueOccurrenceOf(fifthValue) == 3) // case XYZZZ
-            return threeOfAKind(fifthValue);
+            return threeOfAKindWithRemainingCards(fifthValue, valuesDescWithout(fifthValue));
 
         return continueWithTwoPairs();
     }
@@ -134,7 +145,16 @@ public class RankingBuilder {
             return false;
 
         int maxCardDistanceInStraight = 4;
-        return (highestValue().ordinal() - lowestValue().ordinal()) == maxCardDistanceInStraight;
+        return isWheel() || (highestValue().ordinal() - lowestValue().ordinal()) == maxCardDistanceInStraight;
+    }
+
+    // case 2345A (values are distinct here): the ace counts as the lowest value, so the five is the highest card of the straight
+    private boolean isWheel() {
+        return fifthValue == CardValue.ACE && cards.get(3).value() == CardValue.N5;
+    }
+
+    private CardValue highestStraightValue() {
+        return isWheel() ? CardValue.N5 : highestValue();
     }
 
     private List<CardValue> getDistinctValues() {
@@ -5,44 +5,51 @@ import poker.hands.CardValue;
 import java.util.ArrayList;
 import java.util.List;
 
-// convenience factory methods for better readability
+// convenience factory methods for better readability; rankings are canonical, so equal rankings are the same instance
 public class Rankings {
     public static Ranking straightFlushWithHighCard(CardValue value) {
-        return new Ranking(RankingCategory.STRAIGHT_FLUSH, List.of(value));
+        return ranking(RankingCategory.STRAIGHT_FLUSH, List.of(value));
     }
 
-    public static Ranking fourOfAKind(CardValue fourCardsValue) {
-        return new Ranking(RankingCategory.FOUR_OF_A_KND, List.of(fourCardsValue));
+    public static Ranking fourOfAKindWithRemainingCard(CardValue fourCardsValue, CardValue remainingCard) {
+        return ranking(RankingCategory.FOUR_OF_A_KND, List.of(fourCardsValue, remainingCard));
     }
 
-    public static Ranking fullHouseWithThree(CardValue threeCardsValue) {
-        return new Ranking(RankingCategory.FULL_HOUSE, List.of(threeCardsValue));
+    public static Ranking fullHouseWithThreeAndPair(CardValue threeCardsValue, CardValue pairValue) {
+        return ranking(RankingCategory.FULL_HOUSE, List.of(threeCardsValue, pairValue));
     }
 
     public static Ranking flush(List<CardValue> valuesDescending) {
-        return new Ranking(RankingCategory.FLUSH, valuesDescending);
+        return ranking(RankingCategory.FLUSH, valuesDescending);
     }
 
     public static Ranking straightWithHighest(CardValue value) {
-        return new Ranking(RankingCategory.STRAIGHT, List.of(value));
+        return ranking(RankingCategory.STRAIGHT, List.of(value));
     }
 
-    public static Ranking threeOfAKind(CardValue threeCardsValue) {
-        return new Ranking(RankingCategory.THREE_OF_A_KIND, List.of(threeCardsValue));
+    public static Ranking threeOfAKindWithRemainingCards(CardValue threeCardsValue, List<CardValue> remainingValuesDescending) {
+        List<CardValue> values = new ArrayList<>();
+        values.add(threeCardsValue);
+        values.addAll(remainingValuesDescending);
+        return ranking(RankingCategory.THREE_OF_A_KIND, values);
     }
 
     public static Ranking twoPairsWithPairsValuesAndRemainingCard(CardValue highestPair, CardValue lowestPair, CardValue remainingCard) {
-        return new Ranking(RankingCategory.TWO_PAIRS, List.of(highestPair, lowestPair, remainingCard));
+        return ranking(RankingCategory.TWO_PAIRS, List.of(highestPair, lowestPair, remainingCard));
     }
 
     public static Ranking pairOfWithRemainingCards(CardValue pairValue, List<CardValue> remainingValuesDescending) {
         List<CardValue> values = new ArrayList<>();
         values.add(pairValue);
         values.addAll(remainingValuesDescending);
-        return new Ranking(RankingCategory.PAIR, values);
+        return ranking(RankingCategory.PAIR, values);
     }
 
     public static Ranking highCard(List<CardValue> valuesDescending) {
-        return new Ranking(RankingCategory.HIGH_CARD, valuesDescending);
+        return ranking(RankingCategory.HIGH_CARD, valuesDescending);
+    }
+
+    private static Ranking ranking(RankingCategory category, List<CardValue> valuesForSameTypeComparison) {
+        return CanonicalRankings.rankingOf(Strengths.of(category, valuesForSameTypeComparison));
     }
 }
@@ -0,0 +1,159 @@
+package poker.hands.ranking;
+
+import poker.hands.CardHand;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/* sorts hands by strength (see Strengths) in ascending order, like CardHand.compareTo, but with an LSD radix sort on
+the int keys instead of comparisons: strengths have 24 significant bits, so three stable counting passes of one byte
+each sort any number of hands, passes over a byte all keys share are skipped. Above a threshold each pass is split
+into chunks for the workers of a fork join pool: every chunk counts its bytes, the running sums give each chunk its
+own output positions per byte, so the chunks scatter their keys without coordination. The sorted order of hands
+moves their int indices instead, each pass reading the strengths through them, so it takes two int arrays as well
+ */
+public final class StrengthSort {
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int PASSES = (Strengths.CATEGORY_SHIFT + 4) / RADIX_BITS;
+
+    private StrengthSort() {
+    }
+
+    public static void sort(int[] strengths) {
+        sort(strengths, null);
+    }
+
+    public static void sort(int[] strengths, ForkJoinPool pool) {
+        int chunks = chunks(strengths.length, pool);
+        int[] keys = strengths, buffer = new int[strengths.length];
+        for (int pass = 0; pass < PASSES; pass++) {
+            if (sortPass(keys, buffer, pass * RADIX_BITS, chunks, pool)) {
+                int[] sorted = buffer;
+                buffer = keys;
+                keys = sorted;
+            }
+        }
+        if (keys != strengths)
+            System.arraycopy(keys, 0, strengths, 0, keys.length);
+    }
+
+    /* the indices of the strengths in ascending order of their strengths, equal strengths by index */
+    public static int[] sortedOrder(int[] strengths) {
+        return sortedOrder(strengths, null);
+    }
+
+    public static int[] sortedOrder(int[] strengths, ForkJoinPool pool) {
+        int chunks = chunks(strengths.length, pool);
+        int[] order = new int[strengths.length], buffer = new int[strengths.length];
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+        for (int pass = 0; pass < PASSES; pass++) {
+            if (sortPass(strengths, order, buffer, pass * RADIX_BITS, chunks, pool)) {
+                int[] sorted = buffer;
+                buffer = order;
+                order = sorted;
+            }
+        }
+        return order;
+    }
+
+    /* the hands in ascending order, stable; each hand's strength is read once */
+    public static List<CardHand> sort(List<CardHand> hands) {
+        return sort(hands, null);
+    }
+
+    public static List<CardHand> sort(List<CardHand> hands, ForkJoinPool pool) {
+        int[] strengths = new int[hands.size()];
+        for (int i = 0; i < strengths.length; i++)
+            strengths[i] = hands.get(i).ranking().strength();
+        List<CardHand> sorted = new ArrayList<>(hands.size());
+        for (int index : sortedOrder(strengths, pool))
+            sorted.add(hands.get(index));
+        return sorted;
+    }
+
+    /* one stable counting pass on the byte at the given shift from source to target; false if skipped */
+    private static boolean sortPass(int[] source, int[] target, int shift, int chunks, ForkJoinPool pool) {
+        int[][] counts = new int[chunks][BUCKETS];
+        inChunks(chunks, pool, chunk -> {
+            int[] chunkCounts = counts[chunk];
+            for (int i = start(source.length, chunk, chunks), end = start(source.length, chunk + 1, chunks); i < end; i++)
+                chunkCounts[source[i] >>> shift & BUCKETS - 1]++;
+        });
+        if (!toPositions(counts, source.length))
+            return false;
+        inChunks(chunks, pool, chunk -> {
+            int[] positions = counts[chunk];
+            for (int i = start(source.length, chunk, chunks), end = start(source.length, chunk + 1, chunks); i < end; i++)
+                target[positions[source[i] >>> shift & BUCKETS - 1]++] = source[i];
+        });
+        return true;
+    }
+
+    /* same as above, moving the indices of the strengths instead of the strengths themselves */
+    private static boolean sortPass(int[] strengths, int[] source, int[] target, int shift, int chunks, ForkJoinPool pool) {
+        int[][] counts = new int[chunks][BUCKETS];
+        inChunks(chunks, pool, chunk -> {
+            int[] chunkCounts = counts[chunk];
+            for (int i = start(source.length, chunk, chunks), end = start(source.length, chunk + 1, chunks); i < end; i++)
+                chunkCounts[strengths[source[i]] >>> shift & BUCKETS - 1]++;
+        });
+        if (!toPositions(counts, source.length))
+            return false;
+        inChunks(chunks, pool, chunk -> {
+            int[] positions = counts[chunk];
+            for (int i = start(source.length, chunk, chunks), end = start(source.length, chunk + 1, chunks); i < end; i++)
+                target[positions[strengths[source[i]] >>> shift & BUCKETS - 1]++] = source[i];
+        });
+        return true;
+    }
+
+    /* turns the counts per chunk and byte into the first output position of each; running sums byte by byte, within
+    a byte chunk by chunk, so equal keys keep their order. False if all keys share the same byte */
+    private static boolean toPositions(int[][] counts, int keys) {
+        int position = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            int bucketStart = position;
+            for (int[] chunkCounts : counts) {
+                int count = chunkCounts[bucket];
+                chunkCounts[bucket] = position;
+                position += count;
+            }
+            if (position - bucketStart == keys)
+                return false;
+        }
+        return true;
+    }
+
+    private static int chunks(int keys, ForkJoinPool pool) {
+        if (pool == null || keys < PARALLEL_THRESHOLD)
+            return 1;
+        return Math.min(keys / (PARALLEL_THRESHOLD / 4), 4 * pool.getParallelism());
+    }
+
+    private static int start(int keys, int chunk, int chunks) {
+        return (int) ((long) keys * chunk / chunks);
+    }
+
+    private static void inChunks(int chunks, ForkJoinPool pool, ChunkAction action) {
+        if (chunks == 1) {
+            action.run(0);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int index = chunk;
+            tasks.add(ForkJoinTask.adapt(() -> action.run(index)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    @FunctionalInterface
+    private interface ChunkAction {
+        void run(int chunk);
+    }
+}
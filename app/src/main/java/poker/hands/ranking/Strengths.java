@@ -0,0 +1,89 @@
+package poker.hands.ranking;
+
+import poker.hands.CardValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/* a ranking packed into a single int ("strength"), so comparing two hands is one int comparison and evaluated hands
+can be stored in int[] columns: bits 20-23 hold the category ordinal, bits 0-19 five 4 bit slots for the values for same
+type comparison, most significant first. Slots hold the value ordinal + 1, so unused slots (0) sort before any value,
+just like a shorter list does in Lists.compareByElements
+ */
+public final class Strengths {
+    static final int SLOT_BITS = 4;
+    static final int SLOTS = 5;
+    static final int CATEGORY_SHIFT = SLOT_BITS * SLOTS;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final CardValue[] VALUES = CardValue.values();
+    private static final RankingCategory[] CATEGORIES = RankingCategory.values();
+    // number of values for same type comparison, indexed by category ordinal (see Rankings)
+    private static final int[] VALUES_PER_CATEGORY = {5, 4, 3, 3, 1, 5, 2, 2, 1};
+
+    private Strengths() {
+    }
+
+    public static int compare(int strength, int otherStrength) {
+        return Integer.compare(strength, otherStrength);
+    }
+
+    public static RankingCategory categoryOf(int strength) {
+        return CATEGORIES[strength >>> CATEGORY_SHIFT];
+    }
+
+    public static Ranking rankingOf(int strength) {
+        return CanonicalRankings.rankingOf(strength);
+    }
+
+    public static List<CardValue> valuesOf(int strength) {
+        List<CardValue> values = new ArrayList<>(SLOTS);
+        for (int shift = CATEGORY_SHIFT - SLOT_BITS; shift >= 0; shift -= SLOT_BITS) {
+            int slot = (strength >>> shift) & SLOT_MASK;
+            if (slot == 0)
+                break;
+            values.add(VALUES[slot - 1]);
+        }
+        return values;
+    }
+
+    static int of(RankingCategory category, List<CardValue> valuesForSameTypeComparison) {
+        if (valuesForSameTypeComparison.size() > SLOTS)
+            throw new IllegalArgumentException("at most " + SLOTS + " values per ranking, got " + valuesForSameTypeComparison);
+        int strength = category.ordinal() << CATEGORY_SHIFT;
+        int shift = CATEGORY_SHIFT;
+        for (CardValue value : valuesForSameTypeComparison) {
+            shift -= SLOT_BITS;
+            strength |= (value.ordinal() + 1) << shift;
+        }
+        return strength;
+    }
+
+    /* the number of values for same type comparison a category has, e.g. 2 for a full house */
+    static int valuesPerCategory(RankingCategory category) {
+        return VALUES_PER_CATEGORY[category.ordinal()];
+    }
+
+    static int of(RankingCategory category, int valueMask) {
+        return of(category, valueMask, 0);
+    }
+
+    /* values of the masks (bit n stands for the value with ordinal n) in descending order, first the leading ones
+    (e.g. the pairs), then the remaining ones, as long as the category has values for same type comparison left */
+    static int of(RankingCategory category, int leadingValueMask, int remainingValueMask) {
+        int strength = category.ordinal() << CATEGORY_SHIFT;
+        int lastShift = CATEGORY_SHIFT - SLOT_BITS * VALUES_PER_CATEGORY[category.ordinal()];
+        for (int shift = CATEGORY_SHIFT - SLOT_BITS; shift >= lastShift; shift -= SLOT_BITS) {
+            int highestBit;
+            if (leadingValueMask != 0) {
+                highestBit = Integer.highestOneBit(leadingValueMask);
+                leadingValueMask ^= highestBit;
+            } else if (remainingValueMask != 0) {
+                highestBit = Integer.highestOneBit(remainingValueMask);
+                remainingValueMask ^= highestBit;
+            } else
+                break;
+            strength |= (Integer.numberOfTrailingZeros(highestBit) + 1) << shift;
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,121 @@
+package poker.hands.ranking;
+
+import java.util.Arrays;
+
+/* the k strongest of a stream of strengths (see Strengths) with an id each (e.g. the position of the hand in a hand
+history), in constant memory: a min heap on two primitive arrays, whose root is the weakest kept strength, so most
+offers of a long feed are a single comparison. Of equal strengths the ones with lower ids are kept (the first offered
+ones, if ids are positions). Not thread safe, merge the selectors of several threads with offerAll
+ */
+public final class TopStrengths {
+    private final int[] strengths;
+    private final long[] ids;
+    private int size;
+    private long offered;
+
+    public TopStrengths(int k) {
+        if (k < 1)
+            throw new IllegalArgumentException("k must be positive, got " + k);
+        this.strengths = new int[k];
+        this.ids = new long[k];
+    }
+
+    /* true if the strength is kept (for now) */
+    public boolean offer(int strength, long id) {
+        offered++;
+        if (size < strengths.length) {
+            int position = size++;
+            while (position > 0) { // sift up
+                int parent = (position - 1) >>> 1;
+                if (!weaker(strength, id, strengths[parent], ids[parent]))
+                    break;
+                strengths[position] = strengths[parent];
+                ids[position] = ids[parent];
+                position = parent;
+            }
+            strengths[position] = strength;
+            ids[position] = id;
+            return true;
+        }
+        if (!weaker(strengths[0], ids[0], strength, id))
+            return false;
+        replaceRoot(strength, id);
+        return true;
+    }
+
+    public void offerAll(TopStrengths other) {
+        long otherOffered = other.offered;
+        for (int i = 0; i < other.size; i++)
+            offer(other.strengths[i], other.ids[i]);
+        offered += otherOffered - other.size;
+    }
+
+    private void replaceRoot(int strength, long id) {
+        int position = 0;
+        while (true) { // sift down
+            int child = 2 * position + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && weaker(strengths[child + 1], ids[child + 1], strengths[child], ids[child]))
+                child++;
+            if (!weaker(strengths[child], ids[child], strength, id))
+                break;
+            strengths[position] = strengths[child];
+            ids[position] = ids[child];
+            position = child;
+        }
+        strengths[position] = strength;
+        ids[position] = id;
+    }
+
+    /* of equal strengths the higher id is dropped first */
+    private static boolean weaker(int strength, long id, int otherStrength, long otherId) {
+        return strength < otherStrength || strength == otherStrength && id > otherId;
+    }
+
+    /* the weakest kept strength, the one to beat once k strengths are kept */
+    public int threshold() {
+        if (size == 0)
+            throw new IllegalStateException("nothing offered yet");
+        return strengths[0];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long offered() {
+        return offered;
+    }
+
+    /* the ids of the kept strengths, strongest first, equal strengths by id */
+    public long[] ids() {
+        long[] sorted = new long[size];
+        int[] order = order();
+        for (int i = 0; i < size; i++)
+            sorted[i] = ids[order[i]];
+        return sorted;
+    }
+
+    /* the kept strengths, strongest first */
+    public int[] strengths() {
+        int[] sorted = new int[size];
+        int[] order = order();
+        for (int i = 0; i < size; i++)
+            sorted[i] = strengths[order[i]];
+        return sorted;
+    }
+
+    /* positions in the heap, strongest first */
+    private int[] order() {
+        Integer[] positions = new Integer[size];
+        for (int i = 0; i < size; i++)
+            positions[i] = i;
+        Arrays.sort(positions, (a, b) -> weaker(strengths[a], ids[a], strengths[b], ids[b]) ? 1
+                : weaker(strengths[b], ids[b], strengths[a], ids[a]) ? -1 : 0);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++)
+            order[i] = positions[i];
+        return order;
+    }
+}
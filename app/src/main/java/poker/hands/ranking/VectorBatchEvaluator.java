@@ -0,0 +1,100 @@
+package poker.hands.ranking;
+
+import java.util.concurrent.ForkJoinPool;
+
+/* BatchEvaluator on SIMD lanes: as many hands as a vector register holds (e.g. eight with AVX-512) are ranked at once
+by lane wise operations of the JDK Vector API, the chain of checks (see HandEvaluator) included, which picks the
+category of each lane with masks instead of branches. The Vector API is an incubator module in this JDK, so its
+code is compiled in a source set of its own (src/vector) and is only loaded, if the module is added at runtime
+(--add-modules jdk.incubator.vector); otherwise the same hands are ranked by scalar code. Masks of five to seven cards
+(see CardMasks), which are not validated, and batches above a threshold can be split across a fork join pool
+ */
+public final class VectorBatchEvaluator {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "poker.hands.ranking.VectorKernel";
+    private static final int HAND_SIZE = 5;
+    private static final int MASKS_PER_CHUNK = 1024;
+    static final Kernel SCALAR = new ScalarKernel();
+    private static final Kernel KERNEL = loadKernel();
+
+    private VectorBatchEvaluator() {
+    }
+
+    /* strengths of the masks [from, to) into the same positions of strengths */
+    interface Kernel {
+        void strengthsOf(long[] masks, int[] strengths, int from, int to);
+
+        int lanes();
+    }
+
+    /* false if the hands are ranked one by one, as the Vector API isn't available */
+    public static boolean isVectorized() {
+        return KERNEL != SCALAR;
+    }
+
+    /* hands ranked at once, 1 without the Vector API */
+    public static int lanes() {
+        return KERNEL.lanes();
+    }
+
+    public static void strengthsOf(long[] masks, int[] strengths) {
+        int hands = BatchEvaluator.checkedHands(masks.length, strengths);
+        long startNanos = BatchEvaluator.batchStart();
+        KERNEL.strengthsOf(masks, strengths, 0, hands);
+        BatchEvaluator.batchEnd(hands, startNanos);
+    }
+
+    public static void strengthsOf(long[] masks, int[] strengths, ForkJoinPool pool) {
+        BatchEvaluator.inParallel(pool, BatchEvaluator.checkedHands(masks.length, strengths),
+                (from, to) -> KERNEL.strengthsOf(masks, strengths, from, to));
+    }
+
+    /* five card indices (see CardMasks) per hand, one byte each, as BatchEvaluator takes them */
+    public static void strengthsOf(byte[] cards, int[] strengths) {
+        int hands = BatchEvaluator.handsOf(cards.length, strengths);
+        long startNanos = BatchEvaluator.batchStart();
+        strengthsOf(KERNEL, cards, strengths, 0, hands);
+        BatchEvaluator.batchEnd(hands, startNanos);
+    }
+
+    public static void strengthsOf(byte[] cards, int[] strengths, ForkJoinPool pool) {
+        BatchEvaluator.inParallel(pool, BatchEvaluator.handsOf(cards.length, strengths),
+                (from, to) -> strengthsOf(KERNEL, cards, strengths, from, to));
+    }
+
+    /* converts the hands chunk by chunk into masks for the kernel */
+    static void strengthsOf(Kernel kernel, byte[] cards, int[] strengths, int from, int to) {
+        long[] masks = new long[Math.min(MASKS_PER_CHUNK, to - from)];
+        int[] chunkStrengths = new int[masks.length];
+        for (int chunkStart = from; chunkStart < to; chunkStart += masks.length) {
+            int chunkHands = Math.min(masks.length, to - chunkStart);
+            for (int hand = 0, offset = chunkStart * HAND_SIZE; hand < chunkHands; hand++, offset += HAND_SIZE)
+                masks[hand] = 1L << cards[offset] | 1L << cards[offset + 1] | 1L << cards[offset + 2] | 1L << cards[offset + 3] | 1L << cards[offset + 4];
+            kernel.strengthsOf(masks, chunkStrengths, 0, chunkHands);
+            System.arraycopy(chunkStrengths, 0, strengths, chunkStart, chunkHands);
+        }
+    }
+
+    private static Kernel loadKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty())
+            return SCALAR;
+        try {
+            return (Kernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) { // e.g. a build without the vector source set
+            return SCALAR;
+        }
+    }
+
+    private static final class ScalarKernel implements Kernel {
+        @Override
+        public void strengthsOf(long[] masks, int[] strengths, int from, int to) {
+            for (int hand = from; hand < to; hand++)
+                strengths[hand] = HandEvaluator.rank(masks[hand]);
+        }
+
+        @Override
+        public int lanes() {
+            return 1;
+        }
+    }
+}
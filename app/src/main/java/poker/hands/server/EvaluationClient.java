@@ -0,0 +1,102 @@
+package poker.hands.server;
+
+import poker.hands.Showdown;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/* blocking client of an EvaluationServer, one request at a time. Cards are masks, see CardMasks; requests the server
+rejects (e.g. a hand of four cards) throw IllegalArgumentException with the server's message. Not thread safe, use a
+client per thread
+ */
+public final class EvaluationClient implements Closeable {
+    private final SocketChannel channel;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    private EvaluationClient(SocketChannel channel) throws IOException {
+        this.channel = channel;
+        if (channel.supportedOptions().contains(StandardSocketOptions.TCP_NODELAY))
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+    }
+
+    public static EvaluationClient connect(SocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open(address);
+        try {
+            return new EvaluationClient(channel);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /* strength of five to seven cards, see Strengths */
+    public int evaluate(long cards) throws IOException {
+        out.writeByte(Protocol.EVALUATE);
+        out.writeLong(cards);
+        send();
+        return in.readInt();
+    }
+
+    /* positive if the first hand is stronger, negative if the second one is, 0 for a tie */
+    public int compare(long first, long second) throws IOException {
+        out.writeByte(Protocol.COMPARE);
+        out.writeLong(first);
+        out.writeLong(second);
+        send();
+        return in.readInt();
+    }
+
+    /* like Showdown.ofMasks, but evaluated by the server */
+    public Showdown showdown(long board, long... playerCards) throws IOException {
+        if (playerCards.length > Protocol.MAX_PLAYERS)
+            throw new IllegalArgumentException("at most " + Protocol.MAX_PLAYERS + " players, got " + playerCards.length);
+        out.writeByte(Protocol.SHOWDOWN);
+        out.writeLong(board);
+        out.writeByte(playerCards.length);
+        for (long cards : playerCards)
+            out.writeLong(cards);
+        send();
+        int[] strengths = new int[in.readUnsignedByte()];
+        for (int player = 0; player < strengths.length; player++)
+            strengths[player] = in.readInt();
+        return Showdown.ofStrengths(strengths);
+    }
+
+    /* the server's counters, see ServerMetrics.snapshot */
+    public Map<String, Long> stats() throws IOException {
+        out.writeByte(Protocol.STATS);
+        send();
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (int count = in.readInt(); count > 0; count--)
+            values.put(in.readUTF(), in.readLong());
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /* flushes the request and reads the response status */
+    private void send() throws IOException {
+        out.flush();
+        byte status = in.readByte();
+        if (status == Protocol.ERROR)
+            throw new IllegalArgumentException(in.readUTF());
+        if (status != Protocol.OK)
+            throw Protocol.unexpectedStatus(status);
+    }
+}
@@ -0,0 +1,292 @@
+package poker.hands.server;
+
+import poker.hands.ranking.BatchEvaluator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.ObjectName;
+
+/* local evaluation service, so several processes share one warmed up evaluator instead of each embedding their own:
+binary requests (see Protocol) over a loopback TCP port or a Unix domain socket. Each connection is served by a
+thread of its own, a virtual thread where the JDK has them (Java 21 on), found by reflection, as this code is built
+for Java 17; otherwise a platform thread. The connection threads only parse, validate and answer, the hands of all
+connections are evaluated together in micro-batches (see MicroBatcher)
+ */
+public final class EvaluationServer implements Closeable {
+    public static final int DEFAULT_MAX_BATCH_HANDS = 1024;
+    private static final boolean VIRTUAL_THREADS = hasVirtualThreads();
+
+    private final ServerSocketChannel serverChannel;
+    private final SocketAddress address;
+    private final ServerMetrics metrics = new ServerMetrics();
+    private final ObjectName metricsName;
+    private final MicroBatcher batcher;
+    private final ExecutorService connections = connectionExecutor("evaluation-connection");
+    private final Set<SocketChannel> openChannels = ConcurrentHashMap.newKeySet();
+    private final Thread acceptor;
+    private volatile boolean closed;
+
+    private EvaluationServer(ServerSocketChannel serverChannel, int maxBatchHands, MicroBatcher.Evaluation evaluation) throws IOException {
+        this.serverChannel = serverChannel;
+        this.address = serverChannel.getLocalAddress();
+        this.batcher = new MicroBatcher(maxBatchHands, metrics, evaluation);
+        this.metricsName = ServerMetrics.objectNameOf(address.toString());
+        try {
+            metrics.register(metricsName);
+        } catch (RuntimeException e) {
+            batcher.close();
+            connections.shutdown();
+            throw e;
+        }
+        this.acceptor = new Thread(this::acceptAll, "evaluation-server");
+        acceptor.start();
+    }
+
+    /* e.g. Protocol.localAddress("0") for any free port */
+    public static EvaluationServer start(SocketAddress address) throws IOException {
+        return start(address, DEFAULT_MAX_BATCH_HANDS);
+    }
+
+    public static EvaluationServer start(SocketAddress address, int maxBatchHands) throws IOException {
+        return start(address, maxBatchHands, BatchEvaluator::strengthsOf);
+    }
+
+    static EvaluationServer start(SocketAddress address, int maxBatchHands, MicroBatcher.Evaluation evaluation) throws IOException {
+        ServerSocketChannel channel = address instanceof UnixDomainSocketAddress
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX) : ServerSocketChannel.open();
+        try {
+            channel.bind(address);
+            return new EvaluationServer(channel, maxBatchHands, evaluation);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /* the bound address, e.g. with the port chosen for port 0 */
+    public SocketAddress address() {
+        return address;
+    }
+
+    public ServerMetrics metrics() {
+        return metrics;
+    }
+
+    /* requests waiting for the batch being evaluated */
+    int waitingRequests() {
+        return batcher.waiting();
+    }
+
+    /* true if connections are served by virtual threads */
+    public static boolean usesVirtualThreads() {
+        return VIRTUAL_THREADS;
+    }
+
+    /* waits until the server is closed, e.g. by a shutdown hook */
+    public void awaitClose() throws InterruptedException {
+        acceptor.join();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        serverChannel.close();
+        for (SocketChannel channel : openChannels)
+            channel.close();
+        connections.shutdown();
+        batcher.close();
+        ServerMetrics.unregister(metricsName);
+        if (address instanceof UnixDomainSocketAddress)
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+    }
+
+    private void acceptAll() {
+        while (!closed) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                openChannels.add(channel);
+                // accepted while closing: close() may have closed the open channels and the executor already
+                if (closed) {
+                    reject(channel);
+                    return;
+                }
+                try {
+                    connections.execute(() -> serve(channel));
+                } catch (RejectedExecutionException e) {
+                    reject(channel);
+                    return;
+                }
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (!closed)
+                    System.err.println("can't accept connection: " + e);
+            }
+        }
+    }
+
+    private void reject(SocketChannel channel) throws IOException {
+        openChannels.remove(channel);
+        channel.close();
+    }
+
+    private void serve(SocketChannel channel) {
+        metrics.recordConnection(true);
+        try (channel) {
+            if (channel.supportedOptions().contains(StandardSocketOptions.TCP_NODELAY))
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+            while (true) {
+                byte type;
+                try {
+                    type = in.readByte();
+                } catch (EOFException e) { // closed by the client
+                    return;
+                }
+                long startNanos = System.nanoTime();
+                boolean known = answer(type, in, out);
+                // counted before it's sent, so the client sees it in the counters of its next request
+                metrics.recordRequest(type, System.nanoTime() - startNanos);
+                out.flush();
+                if (!known)
+                    return;
+            }
+        } catch (IOException e) {
+            // connection lost or server closed
+        } finally {
+            openChannels.remove(channel);
+            metrics.recordConnection(false);
+        }
+    }
+
+    /* false if the request type is unknown */
+    private boolean answer(byte type, DataInputStream in, DataOutputStream out) throws IOException {
+        try {
+            switch (type) {
+                case Protocol.EVALUATE: {
+                    long cards = in.readLong();
+                    int strength = batcher.strengthsOf(Protocol.checkedHand(cards)).join()[0];
+                    out.writeByte(Protocol.OK);
+                    out.writeInt(strength);
+                    return true;
+                }
+                case Protocol.COMPARE: {
+                    long first = in.readLong();
+                    long second = in.readLong();
+                    int[] strengths = batcher.strengthsOf(Protocol.checkedHand(first), Protocol.checkedHand(second)).join();
+                    out.writeByte(Protocol.OK);
+                    out.writeInt(Integer.compare(strengths[0], strengths[1]));
+                    return true;
+                }
+                case Protocol.SHOWDOWN: {
+                    long board = in.readLong();
+                    int players = in.readUnsignedByte();
+                    long[] playerCards = new long[players];
+                    for (int player = 0; player < players; player++)
+                        playerCards[player] = in.readLong();
+                    int[] strengths = batcher.strengthsOf(showdownHands(board, playerCards)).join();
+                    out.writeByte(Protocol.OK);
+                    out.writeByte(players);
+                    for (int strength : strengths)
+                        out.writeInt(strength);
+                    return true;
+                }
+                case Protocol.STATS: {
+                    Map<String, Long> values = metrics.snapshot();
+                    out.writeByte(Protocol.OK);
+                    out.writeInt(values.size());
+                    for (Map.Entry<String, Long> value : values.entrySet()) {
+                        out.writeUTF(value.getKey());
+                        out.writeLong(value.getValue());
+                    }
+                    return true;
+                }
+                default:
+                    error(out, "unknown request type " + type);
+                    return false;
+            }
+        } catch (IllegalArgumentException e) {
+            error(out, e.getMessage());
+            return true;
+        } catch (CompletionException e) { // the batcher failed or was closed
+            error(out, String.valueOf(e.getCause()));
+            return true;
+        }
+    }
+
+    /* board plus cards per player, like Showdown.ofMasks */
+    private static long[] showdownHands(long board, long[] playerCards) {
+        if (playerCards.length < 1 || playerCards.length > Protocol.MAX_PLAYERS)
+            throw new IllegalArgumentException("expected 1 to " + Protocol.MAX_PLAYERS + " players, got " + playerCards.length);
+        long[] hands = new long[playerCards.length];
+        long dealt = board;
+        for (int player = 0; player < hands.length; player++) {
+            if ((dealt & playerCards[player]) != 0)
+                throw new IllegalArgumentException("cards dealt twice: " + Long.toHexString(dealt & playerCards[player]));
+            dealt |= playerCards[player];
+            hands[player] = Protocol.checkedHand(board | playerCards[player]);
+        }
+        return hands;
+    }
+
+    private void error(DataOutputStream out, String message) throws IOException {
+        metrics.recordError();
+        out.writeByte(Protocol.ERROR);
+        out.writeUTF(message);
+    }
+
+    /* a new thread per task, virtual ones if available */
+    static ExecutorService connectionExecutor(String name) {
+        ExecutorService virtual = newVirtualThreadPerTaskExecutor();
+        if (virtual != null)
+            return virtual;
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, name + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static boolean hasVirtualThreads() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        if (executor == null)
+            return false;
+        executor.shutdown();
+        return true;
+    }
+
+    /* null before Java 21 (or with the preview of Java 19 and 20 not enabled) */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
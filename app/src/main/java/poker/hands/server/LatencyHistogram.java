@@ -0,0 +1,66 @@
+package poker.hands.server;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/* latencies in nanoseconds, recorded concurrently into log-linear buckets: eight buckets per power of two, so a
+percentile is reported at most 12.5% above the recorded latency, with a few hundred counters for the whole range of
+long. Counted in striped LongAdders like EvaluationMetrics, so percentiles read while recording are a snapshot
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = bucketOf(Long.MAX_VALUE) + 1;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    public LatencyHistogram() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++)
+            buckets[bucket] = new LongAdder();
+    }
+
+    public void record(long nanos) {
+        buckets[bucketOf(nanos)].increment();
+    }
+
+    public long count() {
+        long count = 0;
+        for (LongAdder bucket : buckets)
+            count += bucket.sum();
+        return count;
+    }
+
+    /* upper bound of the bucket holding the given quantile (e.g. 0.99), 0 if nothing was recorded */
+    public long percentile(double quantile) {
+        if (quantile < 0 || quantile > 1)
+            throw new IllegalArgumentException("quantile must be between 0 and 1, got " + quantile);
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++)
+            total += counts[bucket] = buckets[bucket].sum();
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank)
+                return upperBoundOf(bucket);
+        }
+        return 0;
+    }
+
+    /* bucket n < 8 holds n nanoseconds, above that each power of two 2^e is split into eight buckets of 2^(e-3) */
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS)
+            return (int) Math.max(nanos, 0);
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (nanos >>> shift);
+    }
+
+    /* the highest latency of the bucket */
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long first = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return first + (1L << shift) - 1;
+    }
+}
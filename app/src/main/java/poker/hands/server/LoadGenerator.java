@@ -0,0 +1,143 @@
+package poker.hands.server;
+
+import poker.hands.CardMasks;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/* drives an EvaluationServer from many connections at once, each sending its requests one after the other, and
+measures the latency of each request as the client sees it. The requests are random deals: 60% evaluations of seven
+cards, 20% comparisons of two seven card hands and 20% showdowns of two to nine players on a five card board
+ */
+public final class LoadGenerator {
+    private static final int BOARD_CARDS = 5;
+    private static final int HOLE_CARDS = 2;
+    private static final int MAX_SHOWDOWN_PLAYERS = 9;
+
+    private final SocketAddress address;
+    private final int connections;
+    private final int requestsPerConnection;
+
+    public LoadGenerator(SocketAddress address, int connections, int requestsPerConnection) {
+        if (connections < 1 || requestsPerConnection < 1)
+            throw new IllegalArgumentException("at least one connection and request needed, got " + connections + " and " + requestsPerConnection);
+        this.address = address;
+        this.connections = connections;
+        this.requestsPerConnection = requestsPerConnection;
+    }
+
+    /* all connections are opened before the first request is sent */
+    public Report run(long seed) throws IOException, InterruptedException {
+        LatencyHistogram latencies = new LatencyHistogram();
+        SplittableRandom random = new SplittableRandom(seed);
+        CountDownLatch connected = new CountDownLatch(connections);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = EvaluationServer.connectionExecutor("load-generator");
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int connection = 0; connection < connections; connection++) {
+                SplittableRandom connectionRandom = random.split();
+                results.add(executor.submit(() -> {
+                    EvaluationClient client;
+                    try {
+                        client = EvaluationClient.connect(address);
+                    } finally { // also if connecting failed, the failure is reported by the result
+                        connected.countDown();
+                    }
+                    try (client) {
+                        start.await();
+                        for (int request = 0; request < requestsPerConnection; request++) {
+                            long startNanos = System.nanoTime();
+                            send(client, connectionRandom);
+                            latencies.record(System.nanoTime() - startNanos);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            connected.await();
+            long startNanos = System.nanoTime();
+            start.countDown();
+            for (Future<?> result : results)
+                result.get();
+            return new Report(latencies, System.nanoTime() - startNanos);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException) e.getCause();
+            throw new IllegalStateException("load generation failed", e.getCause());
+        } finally {
+            start.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void send(EvaluationClient client, SplittableRandom random) throws IOException {
+        int kind = random.nextInt(10);
+        if (kind < 6) {
+            client.evaluate(deal(random, 0L, BOARD_CARDS + HOLE_CARDS));
+        } else if (kind < 8) {
+            long first = deal(random, 0L, BOARD_CARDS + HOLE_CARDS);
+            client.compare(first, deal(random, 0L, BOARD_CARDS + HOLE_CARDS));
+        } else {
+            long board = deal(random, 0L, BOARD_CARDS);
+            long[] playerCards = new long[2 + random.nextInt(MAX_SHOWDOWN_PLAYERS - 1)];
+            long dealt = board;
+            for (int player = 0; player < playerCards.length; player++) {
+                playerCards[player] = deal(random, dealt, HOLE_CARDS);
+                dealt |= playerCards[player];
+            }
+            client.showdown(board, playerCards);
+        }
+    }
+
+    /* random cards, none of the dealt ones */
+    private static long deal(SplittableRandom random, long dealt, int cards) {
+        long mask = 0L;
+        while (Long.bitCount(mask) < cards) {
+            long card = 1L << random.nextInt(CardMasks.CARDS);
+            if ((dealt & card) == 0)
+                mask |= card;
+        }
+        return mask;
+    }
+
+    /* latencies and throughput of one run */
+    public static final class Report {
+        private final LatencyHistogram latencies;
+        private final long nanos;
+
+        Report(LatencyHistogram latencies, long nanos) {
+            this.latencies = latencies;
+            this.nanos = nanos;
+        }
+
+        public long requests() {
+            return latencies.count();
+        }
+
+        public double requestsPerSecond() {
+            return requests() * 1e9 / nanos;
+        }
+
+        public long p50LatencyNanos() {
+            return latencies.percentile(0.5);
+        }
+
+        public long p99LatencyNanos() {
+            return latencies.percentile(0.99);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d requests in %.2f s: %,.0f requests/s, latency p50 %,.1f us, p99 %,.1f us",
+                    requests(), nanos / 1e9, requestsPerSecond(), p50LatencyNanos() / 1e3, p99LatencyNanos() / 1e3);
+        }
+    }
+}
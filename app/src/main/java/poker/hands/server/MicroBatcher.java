@@ -0,0 +1,116 @@
+package poker.hands.server;
+
+import poker.hands.ranking.BatchEvaluator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/* coalesces the hands of concurrent requests into batches for BatchEvaluator: one thread takes the first
+waiting request, adds all others waiting by then (up to a maximum number of hands), evaluates them at once and
+completes each request with its strengths. Nothing waits for a batch to fill, so a lone request is evaluated right
+away and batches only grow with the load, i.e. while the previous batch was evaluated
+ */
+final class MicroBatcher implements AutoCloseable {
+    private final int maxHands;
+    private final ServerMetrics metrics;
+    private final Evaluation evaluation;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    /* ranks a batch of masks into strengths, e.g. BatchEvaluator::strengthsOf */
+    @FunctionalInterface
+    interface Evaluation {
+        void strengthsOf(long[] masks, int[] strengths);
+    }
+
+    MicroBatcher(int maxHands, ServerMetrics metrics) {
+        this(maxHands, metrics, BatchEvaluator::strengthsOf);
+    }
+
+    MicroBatcher(int maxHands, ServerMetrics metrics, Evaluation evaluation) {
+        if (maxHands < Protocol.MAX_PLAYERS)
+            throw new IllegalArgumentException("a batch must hold at least " + Protocol.MAX_PLAYERS + " hands, got " + maxHands);
+        this.maxHands = maxHands;
+        this.metrics = metrics;
+        this.evaluation = evaluation;
+        this.thread = new Thread(this::run, "evaluation-batcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /* hands of five to seven cards (see CardMasks), which are not validated here */
+    CompletableFuture<int[]> strengthsOf(long... masks) {
+        Pending pending = new Pending(masks);
+        queue.add(pending);
+        if (closed && queue.remove(pending)) // closed while adding
+            pending.result.completeExceptionally(new IllegalStateException("batcher closed"));
+        return pending.result;
+    }
+
+    /* requests not taken into a batch yet */
+    int waiting() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+        for (Pending pending; (pending = queue.poll()) != null; )
+            pending.result.completeExceptionally(new IllegalStateException("batcher closed"));
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>();
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            int hands = batch.get(0).masks.length;
+            // the only consumer, so the peeked request is the polled one
+            for (Pending next; (next = queue.peek()) != null && hands + next.masks.length <= maxHands; hands += next.masks.length)
+                batch.add(queue.poll());
+            evaluate(batch, hands);
+            batch.clear();
+        }
+    }
+
+    private void evaluate(List<Pending> batch, int hands) {
+        long[] masks = new long[hands];
+        int[] strengths = new int[hands];
+        int offset = 0;
+        for (Pending pending : batch) {
+            System.arraycopy(pending.masks, 0, masks, offset, pending.masks.length);
+            offset += pending.masks.length;
+        }
+        try {
+            evaluation.strengthsOf(masks, strengths);
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+            return;
+        }
+        metrics.recordBatch(hands);
+        offset = 0;
+        for (Pending pending : batch) {
+            int[] result = new int[pending.masks.length];
+            System.arraycopy(strengths, offset, result, 0, result.length);
+            offset += result.length;
+            pending.result.complete(result);
+        }
+    }
+
+    private static final class Pending {
+        final long[] masks;
+        final CompletableFuture<int[]> result = new CompletableFuture<>();
+
+        Pending(long[] masks) {
+            this.masks = masks;
+        }
+    }
+}
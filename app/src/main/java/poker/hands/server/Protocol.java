@@ -0,0 +1,73 @@
+package poker.hands.server;
+
+import poker.hands.CardMasks;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+
+/* the binary protocol of EvaluationServer, big-endian like DataOutputStream writes it. A request is a type byte
+followed by card masks (see CardMasks), each answered in order on the same connection by a status byte and either
+the result or an error message (in modified UTF-8, see DataOutputStream.writeUTF):
+  EVALUATE  long cards (five to seven)                     -> int strength (see Strengths)
+  COMPARE   long first cards, long second cards            -> int comparison, positive if the first hand is stronger
+  SHOWDOWN  long board, byte players, long cards per player -> byte players, int strength per player
+  STATS     (nothing)                                      -> int count, count times (UTF name, long value)
+An unknown request type can't be skipped, so it is answered with an error and the connection is closed
+ */
+public final class Protocol {
+    public static final byte EVALUATE = 1;
+    public static final byte COMPARE = 2;
+    public static final byte SHOWDOWN = 3;
+    public static final byte STATS = 4;
+
+    public static final byte OK = 0;
+    public static final byte ERROR = 1;
+
+    public static final int MIN_CARDS = 5;
+    public static final int MAX_CARDS = 7;
+    public static final int MAX_PLAYERS = 23; // 23 x 2 hole cards and a board of 5 use 51 of the 52 cards
+
+    private Protocol() {
+    }
+
+    /* a port on the loopback interface, e.g. "7000", or the path of a Unix domain socket, e.g. "/tmp/poker.sock" */
+    public static SocketAddress localAddress(String portOrPath) {
+        if (!portOrPath.isEmpty() && portOrPath.chars().allMatch(Character::isDigit)) {
+            int port = Integer.parseInt(portOrPath);
+            if (port > 0xFFFF)
+                throw new IllegalArgumentException("not a port: " + port);
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        }
+        return UnixDomainSocketAddress.of(portOrPath);
+    }
+
+    static String nameOf(byte type) {
+        switch (type) {
+            case EVALUATE:
+                return "evaluate";
+            case COMPARE:
+                return "compare";
+            case SHOWDOWN:
+                return "showdown";
+            case STATS:
+                return "stats";
+            default:
+                return "unknown";
+        }
+    }
+
+    /* throws IllegalArgumentException unless the mask is a hand of five to seven cards */
+    static long checkedHand(long cards) {
+        int count = Long.bitCount(cards);
+        if (count < MIN_CARDS || count > MAX_CARDS || cards >>> CardMasks.CARDS != 0)
+            throw new IllegalArgumentException("expected " + MIN_CARDS + " to " + MAX_CARDS + " cards, got " + Long.toHexString(cards));
+        return cards;
+    }
+
+    static IOException unexpectedStatus(byte status) {
+        return new IOException("unexpected response status " + status);
+    }
+}
@@ -0,0 +1,158 @@
+package poker.hands.server;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/* counters of an EvaluationServer: requests per type, errors, connections, micro-batches and the latency from a
+request read to its response ready to be sent. Registered as an MXBean named after the server's address, e.g.
+poker.hands:type=EvaluationServer,address="localhost/127.0.0.1:7000", and sent as STATS response
+ */
+public final class ServerMetrics implements ServerMetricsMXBean {
+    private static final byte[] TYPES = {Protocol.EVALUATE, Protocol.COMPARE, Protocol.SHOWDOWN, Protocol.STATS};
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder[] requests = new LongAdder[TYPES.length + 1];
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder openConnections = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedHands = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    ServerMetrics() {
+        for (int type = 0; type < requests.length; type++)
+            requests[type] = new LongAdder();
+    }
+
+    void recordRequest(byte type, long nanos) {
+        requests[type > 0 && type <= TYPES.length ? type : 0].increment();
+        latencies.record(nanos);
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    void recordConnection(boolean opened) {
+        if (opened)
+            openConnections.increment();
+        else
+            openConnections.decrement();
+    }
+
+    void recordBatch(int hands) {
+        batches.increment();
+        batchedHands.add(hands);
+    }
+
+    @Override
+    public long getRequests() {
+        long sum = 0;
+        for (LongAdder perType : requests)
+            sum += perType.sum();
+        return sum;
+    }
+
+    @Override
+    public Map<String, Long> getRequestsByType() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (byte type : TYPES)
+            counts.put(Protocol.nameOf(type), requests[type].sum());
+        counts.put(Protocol.nameOf((byte) 0), requests[0].sum());
+        return counts;
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getOpenConnections() {
+        return openConnections.sum();
+    }
+
+    /* since the server started */
+    @Override
+    public double getRequestsPerSecond() {
+        return getRequests() * 1e9 / Math.max(1, System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    @Override
+    public long getBatchedHands() {
+        return batchedHands.sum();
+    }
+
+    @Override
+    public double getAverageBatchSize() {
+        long count = batches.sum();
+        return count == 0 ? 0 : (double) batchedHands.sum() / count;
+    }
+
+    @Override
+    public long getP50LatencyNanos() {
+        return latencies.percentile(0.5);
+    }
+
+    @Override
+    public long getP99LatencyNanos() {
+        return latencies.percentile(0.99);
+    }
+
+    /* the counters as sent in a STATS response */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        values.put("requests", getRequests());
+        values.put("errors", getErrors());
+        values.put("openConnections", getOpenConnections());
+        values.put("requestsPerSecond", Math.round(getRequestsPerSecond()));
+        values.put("batches", getBatches());
+        values.put("batchedHands", getBatchedHands());
+        values.put("p50LatencyNanos", getP50LatencyNanos());
+        values.put("p99LatencyNanos", getP99LatencyNanos());
+        return values;
+    }
+
+    static ObjectName objectNameOf(String address) {
+        try {
+            return new ObjectName("poker.hands:type=EvaluationServer,address=" + ObjectName.quote(address));
+        } catch (JMException e) {
+            throw new IllegalArgumentException("no MXBean name for " + address, e);
+        }
+    }
+
+    void register(ObjectName name) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            try {
+                server.registerMBean(this, name);
+            } catch (InstanceAlreadyExistsException e) { // e.g. left over by a server on the same address
+                server.unregisterMBean(name);
+                server.registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("can't register " + name, e);
+        }
+    }
+
+    static void unregister(ObjectName name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        } catch (InstanceNotFoundException e) {
+            // already gone
+        } catch (JMException e) {
+            throw new IllegalStateException("can't unregister " + name, e);
+        }
+    }
+}
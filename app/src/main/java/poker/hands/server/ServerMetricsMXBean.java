@@ -0,0 +1,26 @@
+package poker.hands.server;
+
+import java.util.Map;
+
+/* JMX view of ServerMetrics */
+public interface ServerMetricsMXBean {
+    long getRequests();
+
+    Map<String, Long> getRequestsByType();
+
+    long getErrors();
+
+    long getOpenConnections();
+
+    double getRequestsPerSecond();
+
+    long getBatches();
+
+    long getBatchedHands();
+
+    double getAverageBatchSize();
+
+    long getP50LatencyNanos();
+
+    long getP99LatencyNanos();
+}
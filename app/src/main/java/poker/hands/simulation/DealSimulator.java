@@ -0,0 +1,124 @@
+package poker.hands.simulation;
+
+import poker.hands.CardMasks;
+import poker.hands.ranking.HandEvaluator;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/* simulates complete Texas Hold'em hands at independent tables: shuffle, deal two hole cards per seat, reveal flop,
+turn and river, showdown. Nothing is allocated per hand: each table shuffles a deck of card indices in place (a
+partial Fisher-Yates shuffle, so only as many cards as are dealt get drawn) and deals into card masks (see
+CardMasks) it reuses, the hands are ranked to strengths (see Strengths) without evaluation metrics and only counted
+(see SimulationStatistics).
+Tables run in parallel on a fork join pool, each with a SplittableRandom seeded from the run's seed and the table's
+number alone, so any table, or the whole run on any pool, can be replayed exactly
+ */
+public final class DealSimulator {
+    public static final int HOLE_CARDS = 2;
+    public static final int BOARD_CARDS = 5;
+    public static final int MAX_PLAYERS = (CardMasks.CARDS - BOARD_CARDS) / HOLE_CARDS;
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final int players;
+    private final long seed;
+
+    public DealSimulator(int players, long seed) {
+        if (players < 2 || players > MAX_PLAYERS)
+            throw new IllegalArgumentException("expected 2 to " + MAX_PLAYERS + " players, got " + players);
+        this.players = players;
+        this.seed = seed;
+    }
+
+    public SimulationStatistics run(int tables, long handsPerTable) {
+        return run(tables, handsPerTable, ForkJoinPool.commonPool());
+    }
+
+    public SimulationStatistics run(int tables, long handsPerTable, ForkJoinPool pool) {
+        if (tables < 1 || handsPerTable < 0)
+            throw new IllegalArgumentException("expected at least one table and no negative hands, got " + tables + " and " + handsPerTable);
+        return pool.invoke(new TableRange(0, tables, handsPerTable));
+    }
+
+    /* replays one table of a run, its statistics are part of the run's */
+    public SimulationStatistics runTable(int table, long hands) {
+        Table dealer = new Table();
+        dealer.play(table, hands);
+        return dealer.statistics;
+    }
+
+    /* seed of the table's random generator, a SplitMix64 hash of the run's seed and the table number */
+    public long tableSeed(int table) {
+        long z = seed + (table + 1L) * SEED_GAMMA;
+        z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+        return z ^ z >>> 31;
+    }
+
+    public int players() {
+        return players;
+    }
+
+    /* deck, deal buffers and statistics of one table, reused for all of its hands */
+    private final class Table {
+        final SimulationStatistics statistics = new SimulationStatistics(players);
+        private final int[] deck = new int[CardMasks.CARDS];
+        private final long[] holeCards = new long[players];
+        private final int[] strengths = new int[players];
+
+        Table() {
+            for (int card = 0; card < deck.length; card++)
+                deck[card] = card;
+        }
+
+        void play(int table, long hands) {
+            SplittableRandom random = new SplittableRandom(tableSeed(table));
+            for (long hand = 0; hand < hands; hand++)
+                playHand(random);
+        }
+
+        private void playHand(SplittableRandom random) {
+            // the deck is left as shuffled by the last hand, which the next one continues to shuffle
+            int position = 0;
+            for (int seat = 0; seat < players; seat++) // one card at a time around the table
+                holeCards[seat] = 1L << CardMasks.draw(deck, position++, random);
+            for (int seat = 0; seat < players; seat++)
+                holeCards[seat] |= 1L << CardMasks.draw(deck, position++, random);
+            long board = 0L;
+            for (int card = 0; card < BOARD_CARDS; card++) // flop, turn and river
+                board |= 1L << CardMasks.draw(deck, position++, random);
+            for (int seat = 0; seat < players; seat++)
+                strengths[seat] = HandEvaluator.rank(board | holeCards[seat]);
+            statistics.add(strengths);
+        }
+    }
+
+    /* tables [from, to) */
+    private final class TableRange extends RecursiveTask<SimulationStatistics> {
+        private final int from;
+        private final int to;
+        private final long handsPerTable;
+
+        TableRange(int from, int to, long handsPerTable) {
+            this.from = from;
+            this.to = to;
+            this.handsPerTable = handsPerTable;
+        }
+
+        @Override
+        protected SimulationStatistics compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                TableRange upper = new TableRange(middle, to, handsPerTable);
+                upper.fork();
+                SimulationStatistics result = new TableRange(from, middle, handsPerTable).compute();
+                result.addAll(upper.join());
+                return result;
+            }
+            Table dealer = new Table();
+            dealer.play(from, handsPerTable);
+            return dealer.statistics;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package poker.hands.simulation;
+
+import poker.hands.ranking.RankingCategory;
+import poker.hands.ranking.Strengths;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/* aggregated outcome of simulated Hold'em hands: the categories of all players' final hands and of the winning ones,
+and per seat the pots won alone and the split pots by number of winners. Only integer counts are summed up, so the
+statistics of a run don't depend on the order its tables are merged in
+ */
+public final class SimulationStatistics {
+    private static final RankingCategory[] CATEGORIES = RankingCategory.values();
+
+    private final int players;
+    private final long[] categories = new long[CATEGORIES.length];
+    private final long[] winningCategories = new long[CATEGORIES.length];
+    private final long[] wins;
+    private final long[][] splits; // per seat and number of winners
+    private long hands;
+
+    SimulationStatistics(int players) {
+        this.players = players;
+        this.wins = new long[players];
+        this.splits = new long[players][players + 1];
+    }
+
+    /* one showdown of the final strengths (see Strengths), indexed by seat */
+    void add(int[] strengths) {
+        int best = Integer.MIN_VALUE;
+        int winners = 0;
+        for (int strength : strengths) {
+            categories[Strengths.categoryOf(strength).ordinal()]++;
+            if (strength > best) {
+                best = strength;
+                winners = 1;
+            } else if (strength == best)
+                winners++;
+        }
+        winningCategories[Strengths.categoryOf(best).ordinal()]++;
+        for (int seat = 0; seat < strengths.length; seat++) {
+            if (strengths[seat] != best)
+                continue;
+            if (winners == 1)
+                wins[seat]++;
+            else
+                splits[seat][winners]++;
+        }
+        hands++;
+    }
+
+    void addAll(SimulationStatistics other) {
+        for (int category = 0; category < categories.length; category++) {
+            categories[category] += other.categories[category];
+            winningCategories[category] += other.winningCategories[category];
+        }
+        for (int seat = 0; seat < players; seat++) {
+            wins[seat] += other.wins[seat];
+            for (int winners = 0; winners <= players; winners++)
+                splits[seat][winners] += other.splits[seat][winners];
+        }
+        hands += other.hands;
+    }
+
+    public int players() {
+        return players;
+    }
+
+    public long hands() {
+        return hands;
+    }
+
+    /* final hands of the category, of all players (so players() per hand) */
+    public long count(RankingCategory category) {
+        return categories[category.ordinal()];
+    }
+
+    /* hands won with the category */
+    public long winningCount(RankingCategory category) {
+        return winningCategories[category.ordinal()];
+    }
+
+    /* share of all final hands of the category */
+    public double frequency(RankingCategory category) {
+        return hands == 0 ? 0 : (double) count(category) / (hands * players);
+    }
+
+    public Map<RankingCategory, Long> counts() {
+        Map<RankingCategory, Long> counts = new EnumMap<>(RankingCategory.class);
+        for (RankingCategory category : CATEGORIES)
+            counts.put(category, count(category));
+        return counts;
+    }
+
+    /* pots the seat won alone */
+    public long wins(int seat) {
+        return wins[seat];
+    }
+
+    /* pots the seat split with others */
+    public long splits(int seat) {
+        long sum = 0;
+        for (long count : splits[seat])
+            sum += count;
+        return sum;
+    }
+
+    /* average share of the pot the seat won, i.e. its equity over all hands */
+    public double winRate(int seat) {
+        if (hands == 0)
+            return 0;
+        double shares = wins[seat];
+        for (int winners = 2; winners <= players; winners++)
+            shares += (double) splits[seat][winners] / winners;
+        return shares / hands;
+    }
+
+    /* the same counts, e.g. of a replayed run */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof SimulationStatistics))
+            return false;
+        SimulationStatistics other = (SimulationStatistics) o;
+        return hands == other.hands && Arrays.equals(categories, other.categories)
+                && Arrays.equals(winningCategories, other.winningCategories)
+                && Arrays.equals(wins, other.wins) && Arrays.deepEquals(splits, other.splits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(hands) + Arrays.hashCode(categories);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder(String.format("%,d hands of %d players%n", hands, players));
+        for (int category = CATEGORIES.length - 1; category >= 0; category--)
+            result.append(String.format("  %-16s %8.4f%%  won %,d%n", CATEGORIES[category],
+                    100 * frequency(CATEGORIES[category]), winningCategories[category]));
+        for (int seat = 0; seat < players; seat++)
+            result.append(String.format("  seat %-2d  %6.3f%% of the pots (%,d won, %,d split)%n",
+                    seat + 1, 100 * winRate(seat), wins[seat], splits(seat)));
+        return result.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package poker.hands;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.ranking.HandEvaluator;
+
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static poker.hands.Card.*;
+import static poker.hands.CardValue.*;
+
+public class CardMasksTest {
+    @Test
+    void testIndexRoundTrip() {
+        for (int index = 0; index < CardMasks.CARDS; index++)
+            assertEquals(index, Card.ofIndex(index).index());
+        assertEquals(clubs(N2), Card.ofIndex(0));
+        assertEquals(spades(ACE), Card.ofIndex(51));
+        assertThrows(IllegalArgumentException.class, () -> Card.ofIndex(CardMasks.CARDS));
+        assertThrows(IllegalArgumentException.class, () -> Card.ofIndex(-1));
+    }
+
+    @Test
+    void testMaskRoundTrip() {
+        long mask = CardMasks.maskOf(hearts(N10), clubs(N2), spades(ACE), diamonds(KING), hearts(JACK));
+        assertEquals(List.of(clubs(N2), diamonds(KING), hearts(N10), hearts(JACK), spades(ACE)), CardMasks.cardsOf(mask));
+        assertEquals(mask, CardHand.ofMask(mask).mask());
+        assertThrows(IllegalArgumentException.class, () -> CardHand.ofMask(mask << 12)); // spades(ACE) beyond the last card
+        assertThrows(IllegalArgumentException.class, () -> CardHand.ofMask(mask & ~1L));
+        assertEquals(1 << N10.ordinal() | 1 << JACK.ordinal(), CardMasks.valuesOf(mask, CardSuit.HEARTS));
+    }
+
+    @Test
+    void testDrawShufflesInPlace() {
+        int[] deck = new int[CardMasks.CARDS];
+        for (int card = 0; card < deck.length; card++)
+            deck[card] = card;
+        SplittableRandom random = new SplittableRandom(3);
+        long drawn = 0L;
+        for (int position = 0; position < deck.length; position++) {
+            int card = CardMasks.draw(deck, position, random);
+            assertEquals(card, deck[position]);
+            drawn |= 1L << card;
+            assertEquals(position + 1, Long.bitCount(drawn)); // no card is drawn twice
+        }
+    }
+
+    @Test
+    void testSameStrengthForMaskAndCards() {
+        // all hands are compared by EvaluatorHarnessTest
+        Random random = new Random(9);
+        for (int i = 0; i < 10_000; i++) {
+            long mask = RandomHands.mask(random, 5);
+            Card[] cards = CardMasks.cardsOf(mask).toArray(Card[]::new);
+            assertEquals(HandEvaluator.strengthOf(cards[0], cards[1], cards[2], cards[3], cards[4]), HandEvaluator.strengthOf(mask));
+        }
+    }
+}
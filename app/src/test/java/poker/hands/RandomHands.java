@@ -0,0 +1,43 @@
+package poker.hands;
+
+import java.util.Random;
+
+/* random hands for the tests, the same ones for the same seed */
+public final class RandomHands {
+    private static final int HAND_SIZE = 5;
+
+    private RandomHands() {
+    }
+
+    /* the given number of distinct cards in compact form (see CardMasks) */
+    public static long mask(Random random, int cards) {
+        long mask = 0L;
+        while (Long.bitCount(mask) < cards)
+            mask |= 1L << random.nextInt(CardMasks.CARDS);
+        return mask;
+    }
+
+    /* five distinct card indices per hand (see CardMasks), in the order they were drawn, as BatchEvaluator takes them */
+    public static byte[] cardIndices(Random random, int hands) {
+        byte[] cards = new byte[hands * HAND_SIZE];
+        for (int hand = 0; hand < hands; hand++) {
+            long mask = 0L;
+            for (int dealt = 0; dealt < HAND_SIZE; ) {
+                int index = random.nextInt(CardMasks.CARDS);
+                if ((mask & 1L << index) == 0) {
+                    mask |= 1L << index;
+                    cards[hand * HAND_SIZE + dealt++] = (byte) index;
+                }
+            }
+        }
+        return cards;
+    }
+
+    /* the cards of one hand of cardIndices in compact form */
+    public static long maskOf(byte[] cards, int hand) {
+        long mask = 0L;
+        for (int offset = hand * HAND_SIZE; offset < (hand + 1) * HAND_SIZE; offset++)
+            mask |= 1L << cards[offset];
+        return mask;
+    }
+}
@@ -0,0 +1,71 @@
+package poker.hands;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static poker.hands.Card.*;
+import static poker.hands.CardMasks.maskOf;
+import static poker.hands.CardValue.*;
+import static poker.hands.ranking.Rankings.*;
+
+public class ShowdownTest {
+
+    @Test
+    void testSplitPotOnSharedBoard() {
+        long board = maskOf(clubs(ACE), diamonds(ACE), hearts(KING), spades(N9), clubs(N4));
+        Showdown showdown = Showdown.ofMasks(board,
+                maskOf(clubs(N2), diamonds(N3)), // pair of aces, king, 9, 4 (board plays)
+                maskOf(hearts(ACE), spades(N7)), // three aces
+                maskOf(hearts(N2), spades(N3)), // the board plays, like for the first player
+                maskOf(diamonds(KING), spades(KING))); // full house
+
+        assertArrayEquals(new int[]{3}, showdown.winners());
+        assertFalse(showdown.isSplit());
+        assertEquals(fullHouseWithThreeAndPair(KING, ACE), showdown.ranking(3));
+        assertEquals(3, showdown.groups());
+        assertArrayEquals(new int[]{0, 2}, showdown.group(2));
+        assertArrayEquals(new int[]{3, 1, 0, 2}, showdown.order());
+        assertEquals(2, showdown.placeOf(0));
+        assertEquals(pairOfWithRemainingCards(ACE, List.of(KING, N9, N4)), showdown.ranking(2));
+    }
+
+    @Test
+    void testWinnersShareThePot() {
+        Showdown showdown = Showdown.of(
+                new CardHand(clubs(N2), clubs(N3), clubs(N4), clubs(N5), diamonds(N6)),
+                new CardHand(hearts(N2), hearts(N3), spades(N4), spades(N5), spades(N6)),
+                new CardHand(hearts(N9), hearts(N3), spades(N9), spades(N7), spades(N8)));
+
+        assertTrue(showdown.isSplit());
+        assertArrayEquals(new int[]{0, 1}, showdown.winners());
+        assertEquals(1, showdown.placeOf(2));
+        assertEquals("Showdown([0, 1] > [2])", showdown.toString());
+    }
+
+    @Test
+    void testOrderedLikePairwiseComparison() {
+        Random random = new Random(13);
+        for (int round = 0; round < 1_000; round++) {
+            int[] strengths = new int[1 + random.nextInt(9)];
+            for (int player = 0; player < strengths.length; player++)
+                strengths[player] = random.nextInt(16); // small range, to get many ties
+            Showdown showdown = Showdown.ofStrengths(strengths);
+            int[] order = showdown.order();
+            for (int i = 1; i < order.length; i++) {
+                int comparison = Integer.compare(strengths[order[i - 1]], strengths[order[i]]);
+                assertTrue(comparison > 0 || comparison == 0 && order[i - 1] < order[i]);
+                assertEquals(showdown.placeOf(order[i - 1]) + (comparison > 0 ? 1 : 0), showdown.placeOf(order[i]));
+            }
+        }
+    }
+
+    @Test
+    void testCardsDealtTwice() {
+        assertThrows(IllegalArgumentException.class, () -> Showdown.ofMasks(maskOf(clubs(ACE), diamonds(ACE), hearts(KING)),
+                maskOf(clubs(N2), diamonds(N3)), maskOf(clubs(ACE), spades(N7))));
+        assertThrows(IllegalArgumentException.class, () -> Showdown.ofStrengths());
+    }
+}
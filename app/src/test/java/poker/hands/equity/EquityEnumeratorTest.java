@@ -0,0 +1,69 @@
+package poker.hands.equity;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.CardMasks;
+import poker.hands.ranking.HandEvaluator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static poker.hands.Card.*;
+import static poker.hands.CardMasks.maskOf;
+import static poker.hands.CardValue.*;
+
+public class EquityEnumeratorTest {
+
+    @Test
+    void testHeadsUpPreflop() {
+        long[] holeCards = {maskOf(spades(ACE), hearts(ACE)), maskOf(clubs(KING), diamonds(KING))};
+        EquityResult result = new EquityEnumerator(holeCards, 0L).calculate();
+
+        assertEquals(1_712_304, result.runOuts()); // all boards of 5 out of 48 cards
+        assertEquals(result.runOuts(), result.wins(0) + result.ties(0) + result.losses(0));
+        assertEquals(result.ties(0), result.ties(1));
+        assertEquals(result.wins(0), result.losses(1));
+        assertEquals(0, result.standardError(0));
+
+        // reconciles with the Monte Carlo mode
+        EquityResult sampled = new MonteCarloEquity(holeCards, 0L, 100_000, 0, 3).calculate();
+        assertEquals(result.equity(0), sampled.equity(0), 4 * sampled.standardError(0));
+    }
+
+    @Test
+    void testSameCountsWithoutSuitSymmetries() {
+        long[] holeCards = {maskOf(spades(ACE), spades(KING)), maskOf(hearts(N7), diamonds(N7)), maskOf(clubs(QUEEN))};
+        long board = maskOf(clubs(N2), diamonds(N9));
+        EquityResult reduced = new EquityEnumerator(holeCards, board).calculate();
+        EquityResult full = new EquityEnumerator(holeCards, board, false).calculate();
+
+        assertEquals(full.runOuts(), reduced.runOuts());
+        for (int player = 0; player < holeCards.length; player++) {
+            assertEquals(full.wins(player), reduced.wins(player));
+            assertEquals(full.ties(player), reduced.ties(player));
+        }
+    }
+
+    @Test
+    void testSameCountsAsBruteForceOnTheFlop() {
+        long[] holeCards = {maskOf(spades(ACE), spades(KING)), maskOf(hearts(N7), diamonds(N7))};
+        long board = maskOf(clubs(N2), diamonds(N9), spades(N7));
+        EquityResult result = new EquityEnumerator(holeCards, board).calculate();
+
+        long wins = 0, ties = 0, runOuts = 0;
+        long dead = board | holeCards[0] | holeCards[1];
+        for (int turn = 0; turn < CardMasks.CARDS; turn++)
+            for (int river = turn + 1; river < CardMasks.CARDS; river++) {
+                long runOut = 1L << turn | 1L << river;
+                if ((dead & runOut) != 0)
+                    continue;
+                int first = HandEvaluator.strengthOf(board | runOut | holeCards[0]);
+                int second = HandEvaluator.strengthOf(board | runOut | holeCards[1]);
+                runOuts++;
+                if (first > second)
+                    wins++;
+                else if (first == second)
+                    ties++;
+            }
+        assertEquals(runOuts, result.runOuts());
+        assertEquals(wins, result.wins(0));
+        assertEquals(ties, result.ties(0));
+    }
+}
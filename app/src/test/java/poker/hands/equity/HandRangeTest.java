@@ -0,0 +1,48 @@
+package poker.hands.equity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static poker.hands.Card.*;
+import static poker.hands.CardMasks.maskOf;
+import static poker.hands.CardValue.*;
+
+public class HandRangeTest {
+
+    @Test
+    void testParse() {
+        assertEquals(18, HandRange.parse("QQ+").combos());
+        assertEquals(6 + 4 + 12, HandRange.parse("TT, AK").combos());
+        assertEquals(4 * 4, HandRange.parse("ATs+").combos());
+        assertEquals(4 * 6, HandRange.parse("22-55").combos());
+        assertEquals(4 * 12, HandRange.parse("A2o-A5o").combos());
+        assertEquals(2 * 16, HandRange.parse("KJ+").combos()); // KJ and KQ
+        assertEquals(1, HandRange.parse("AsKd").combos());
+        assertEquals(1.0, HandRange.parse("AsKd").weight(maskOf(spades(ACE), diamonds(KING))));
+    }
+
+    @Test
+    void testWeights() {
+        HandRange range = HandRange.parse("QQ+, AKs, AQo:0.7, AcQd:0");
+        assertEquals(18 + 4 + 11, range.combos());
+        assertEquals(18 + 4 + 11 * 0.7, range.totalWeight(), 1e-9);
+        assertEquals(0.7, range.weight(maskOf(hearts(ACE), spades(QUEEN))));
+        assertEquals(0.0, range.weight(maskOf(clubs(ACE), diamonds(QUEEN))));
+    }
+
+    @Test
+    void testCardRemoval() {
+        HandRange range = HandRange.parse("AA, AKs").withoutCards(maskOf(spades(ACE)));
+        assertEquals(3 + 3, range.combos());
+        assertEquals(0.0, range.weight(maskOf(spades(ACE), spades(KING))));
+    }
+
+    @Test
+    void testMalformed() {
+        assertThrows(IllegalArgumentException.class, () -> HandRange.parse("AX"));
+        assertThrows(IllegalArgumentException.class, () -> HandRange.parse("AKs:1.5"));
+        assertThrows(IllegalArgumentException.class, () -> HandRange.parse("AKs-QJs"));
+        assertThrows(IllegalArgumentException.class, () -> HandRange.parse("AsAs"));
+    }
+}
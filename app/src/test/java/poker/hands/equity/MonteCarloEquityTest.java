@@ -0,0 +1,55 @@
+package poker.hands.equity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static poker.hands.Card.*;
+import static poker.hands.CardMasks.maskOf;
+import static poker.hands.CardValue.*;
+
+public class MonteCarloEquityTest {
+
+    @Test
+    void testPairOfAcesAgainstPairOfKings() {
+        long[] holeCards = {maskOf(spades(ACE), hearts(ACE)), maskOf(spades(KING), hearts(KING))};
+        EquityResult result = new MonteCarloEquity(holeCards, 0L, 200_000, 0.002, 1).calculate();
+
+        // exact, by enumerating all 1,712,304 boards (see EquityEnumeratorTest)
+        double exact = 0.826366;
+        assertTrue(result.standardError(0) <= 0.002);
+        assertEquals(exact, result.equity(0), 4 * result.standardError(0));
+        assertEquals(1 - exact, result.equity(1), 4 * result.standardError(1));
+        assertEquals(result.runOuts(), result.wins(0) + result.ties(0) + result.losses(0));
+    }
+
+    @Test
+    void testKnownRunOut() {
+        long[] holeCards = {maskOf(spades(ACE), hearts(ACE)), maskOf(spades(KING), hearts(KING)), 0L};
+        long board = maskOf(clubs(KING), diamonds(N2), hearts(N7), clubs(N9), spades(N3));
+        EquityResult result = new MonteCarloEquity(holeCards, board, 10_000, 0, 1).calculate();
+
+        assertEquals(10_000, result.runOuts());
+        assertEquals(0, result.wins(0));
+        assertEquals(1.0, result.equity(1) + result.equity(2), 1e-9);
+    }
+
+    @Test
+    void testReproducibleForSameSeed() {
+        long[] holeCards = {maskOf(spades(ACE), hearts(KING)), maskOf(clubs(N7)), 0L};
+        EquityResult first = new MonteCarloEquity(holeCards, 0L, 50_000, 0, 7).calculate();
+        EquityResult second = new MonteCarloEquity(holeCards, 0L, 50_000, 0, 7).calculate();
+
+        for (int player = 0; player < 3; player++) {
+            assertEquals(first.wins(player), second.wins(player));
+            assertEquals(first.ties(player), second.ties(player));
+        }
+    }
+
+    @Test
+    void testCardsDealtTwice() {
+        long[] holeCards = {maskOf(spades(ACE), hearts(ACE)), maskOf(spades(ACE), hearts(KING))};
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloEquity(holeCards, 0L, 1, 0, 1));
+    }
+}
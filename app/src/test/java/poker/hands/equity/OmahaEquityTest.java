@@ -0,0 +1,64 @@
+package poker.hands.equity;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.ranking.OmahaEvaluator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static poker.hands.Card.*;
+import static poker.hands.CardMasks.maskOf;
+import static poker.hands.CardValue.*;
+
+public class OmahaEquityTest {
+    private static final long FLOP = maskOf(clubs(N2), diamonds(N7), hearts(N9));
+    private static final long ACES = maskOf(spades(ACE), hearts(ACE), spades(KING), diamonds(N4));
+    private static final long RUNDOWN = maskOf(clubs(N8), diamonds(N6), spades(N5), hearts(N10));
+
+    @Test
+    void testSameCountsAsBruteForceOnTheFlop() {
+        long[] holeCards = {ACES, RUNDOWN};
+        EquityResult result = new OmahaEquity(holeCards, FLOP).calculate();
+
+        long wins = 0, ties = 0, runOuts = 0;
+        long dead = FLOP | ACES | RUNDOWN;
+        for (int turn = 0; turn < 52; turn++)
+            for (int river = turn + 1; river < 52; river++) {
+                long board = FLOP | 1L << turn | 1L << river;
+                if (((1L << turn | 1L << river) & dead) != 0)
+                    continue;
+                OmahaEvaluator evaluator = OmahaEvaluator.ofBoard(board);
+                int aces = evaluator.strengthOf(ACES), rundown = evaluator.strengthOf(RUNDOWN);
+                runOuts++;
+                if (aces > rundown)
+                    wins++;
+                else if (aces == rundown)
+                    ties++;
+            }
+        assertEquals(runOuts, result.runOuts());
+        assertEquals(wins, result.wins(0));
+        assertEquals(ties, result.ties(0));
+        assertEquals(wins, result.losses(1));
+    }
+
+    @Test
+    void testMultiwaySampledLikeExact() {
+        long[] holeCards = {ACES, RUNDOWN, maskOf(clubs(QUEEN), clubs(JACK), diamonds(QUEEN), hearts(N3), spades(N3))};
+        EquityResult exact = new OmahaEquity(holeCards, FLOP).calculate();
+        EquityResult sampled = new OmahaEquity(holeCards, FLOP).sample(20_000, 9);
+
+        double equities = 0;
+        for (int player = 0; player < holeCards.length; player++) {
+            assertEquals(exact.equity(player), sampled.equity(player), 4 * sampled.standardError(player) + 1e-3);
+            equities += exact.equity(player);
+        }
+        assertEquals(1.0, equities, 1e-9);
+        assertEquals(20_000, sampled.runOuts());
+    }
+
+    @Test
+    void testInvalidHands() {
+        assertThrows(IllegalArgumentException.class, () -> new OmahaEquity(new long[]{ACES}, FLOP));
+        assertThrows(IllegalArgumentException.class, () -> new OmahaEquity(new long[]{ACES, maskOf(clubs(N8), diamonds(N6))}, FLOP));
+        assertThrows(IllegalArgumentException.class, () -> new OmahaEquity(new long[]{ACES, RUNDOWN | maskOf(clubs(N2))}, FLOP));
+    }
+}
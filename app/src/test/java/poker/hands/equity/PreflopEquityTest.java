@@ -0,0 +1,78 @@
+package poker.hands.equity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static poker.hands.Card.*;
+import static poker.hands.CardMasks.maskOf;
+import static poker.hands.CardValue.*;
+
+public class PreflopEquityTest {
+    private static final double RESOLUTION = 1.0 / PreflopEquity.SCALE;
+
+    @Test
+    void testStartingHands() {
+        assertEquals("AKs", StartingHand.of(spades(ACE), spades(KING)).toString());
+        assertEquals("T9o", StartingHand.of(spades(N9), hearts(N10)).toString());
+        assertSame(StartingHand.of("QQ"), StartingHand.of(clubs(QUEEN), diamonds(QUEEN)));
+        assertSame(StartingHand.of("72o"), StartingHand.ofMask(maskOf(clubs(N2), diamonds(N7))));
+        assertEquals(6, StartingHand.of("QQ").combos().length);
+        assertEquals(4, StartingHand.of("AKs").combos().length);
+        assertEquals(12, StartingHand.of("AKo").combos().length);
+        assertEquals(1_326, IntStream.range(0, StartingHand.CLASSES).map(index -> StartingHand.ofIndex(index).combos().length).sum());
+        for (int index = 0; index < StartingHand.CLASSES; index++)
+            assertEquals(index, StartingHand.of(StartingHand.ofIndex(index).toString()).index());
+        assertThrows(IllegalArgumentException.class, () -> StartingHand.of("KAs"));
+        assertThrows(IllegalArgumentException.class, () -> StartingHand.of("AAs"));
+        assertThrows(IllegalArgumentException.class, () -> StartingHand.ofIndex(-1));
+        assertThrows(IllegalArgumentException.class, () -> StartingHand.ofIndex(StartingHand.CLASSES));
+    }
+
+    @Test
+    void testSymmetric() {
+        for (int hand = 0; hand < StartingHand.CLASSES; hand++) {
+            StartingHand first = StartingHand.ofIndex(hand);
+            assertEquals(0.5, PreflopEquity.equity(first, first), RESOLUTION);
+            for (int opponent = 0; opponent < StartingHand.CLASSES; opponent++) {
+                StartingHand second = StartingHand.ofIndex(opponent);
+                assertEquals(1.0, PreflopEquity.equity(first, second) + PreflopEquity.equity(second, first), 2 * RESOLUTION);
+            }
+        }
+    }
+
+    @Test
+    void testPublishedHeadsUpEquities() {
+        // the well-known all-in preflop numbers, rounded to a percent
+        assertPublished(0.82, "AA", "KK");
+        assertPublished(0.88, "AA", "72o");
+        assertPublished(0.70, "KK", "AKo");
+        assertPublished(0.46, "AKs", "QQ");
+        assertPublished(0.47, "AKo", "22");
+        assertPublished(0.54, "JTs", "22");
+    }
+
+    @Test
+    void testSameAsEnumeratedHoleCards() {
+        assertEnumerated(StartingHand.of("AKs"), StartingHand.of("QJs"));
+        assertEnumerated(StartingHand.of("AA"), StartingHand.of("AKs")); // some hole cards share an ace
+    }
+
+    private static void assertPublished(double equity, String hand, String opponent) {
+        assertEquals(equity, PreflopEquity.equity(StartingHand.of(hand), StartingHand.of(opponent)), 0.005, hand + " vs " + opponent);
+    }
+
+    private static void assertEnumerated(StartingHand hand, StartingHand opponent) {
+        double equities = 0;
+        int matchUps = 0;
+        for (long holeCards : hand.combos())
+            for (long opponentHoleCards : opponent.combos()) {
+                if ((holeCards & opponentHoleCards) != 0)
+                    continue;
+                equities += new EquityEnumerator(new long[]{holeCards, opponentHoleCards}, 0L).calculate().equity(0);
+                matchUps++;
+            }
+        assertEquals(equities / matchUps, PreflopEquity.equity(hand, opponent), RESOLUTION);
+    }
+}
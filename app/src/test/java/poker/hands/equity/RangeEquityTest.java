@@ -0,0 +1,58 @@
+package poker.hands.equity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static poker.hands.Card.*;
+import static poker.hands.CardMasks.maskOf;
+import static poker.hands.CardValue.*;
+
+public class RangeEquityTest {
+    private static final long FLOP = maskOf(clubs(N2), diamonds(N7), hearts(N9));
+
+    @Test
+    void testSingleHoleCardsLikeEnumerator() {
+        long aces = maskOf(spades(ACE), hearts(ACE)), kings = maskOf(clubs(KING), diamonds(KING));
+        RangeEquityResult result = new RangeEquity(HandRange.of(aces), HandRange.of(kings), FLOP).calculate();
+        EquityResult enumerated = new EquityEnumerator(new long[]{aces, kings}, FLOP).calculate();
+
+        assertEquals(49 * 48 / 2, result.boards()); // all run-outs of the flop, including those with a hole card
+        assertEquals(enumerated.equity(0), result.equity(), 1e-12);
+        assertEquals(enumerated.wins(0) / (double) enumerated.runOuts(), result.winProbability(), 1e-12);
+    }
+
+    @Test
+    void testWeightedAverageOfHoleCards() {
+        HandRange range = HandRange.parse("AA, KK:0.5, 77:0.25");
+        HandRange opponentRange = HandRange.parse("QQ+, AKs, 98s:0.5");
+        RangeEquityResult result = new RangeEquity(range, opponentRange, FLOP).calculate();
+
+        double weightedEquities = 0, weights = 0;
+        for (int combo = 0; combo < HoleCards.COMBOS; combo++)
+            for (int opponent = 0; opponent < HoleCards.COMBOS; opponent++) {
+                long holeCards = HoleCards.mask(combo), opponentHoleCards = HoleCards.mask(opponent);
+                double weight = range.weight(combo) * opponentRange.weight(opponent);
+                if (weight == 0 || ((holeCards | opponentHoleCards) & FLOP) != 0 || (holeCards & opponentHoleCards) != 0)
+                    continue;
+                weightedEquities += weight * new EquityEnumerator(new long[]{holeCards, opponentHoleCards}, FLOP).calculate().equity(0);
+                weights += weight;
+            }
+        assertEquals(weightedEquities / weights, result.equity(), 1e-12);
+    }
+
+    @Test
+    void testSampledPreflop() {
+        RangeEquityResult result = new RangeEquity(HandRange.parse("AA"), HandRange.parse("KK"), 0L).sample(20_000, 5);
+
+        assertEquals(20_000, result.boards());
+        assertEquals(PreflopEquity.equity(StartingHand.of("AA"), StartingHand.of("KK")), result.equity(), 0.005);
+        assertEquals(1.0, result.equity() + result.opponentEquity(), 1e-12);
+    }
+
+    @Test
+    void testRangesOnTheBoard() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new RangeEquity(HandRange.parse("22"), HandRange.parse("AsKs"), maskOf(clubs(N2), diamonds(N2), hearts(N2), spades(N2))));
+    }
+}
@@ -0,0 +1,69 @@
+package poker.hands.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import poker.hands.RandomHands;
+import poker.hands.ranking.LookupTableEvaluator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandFileRankerTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRanksAllChunks() throws IOException {
+        int hands = 2_500;
+        byte[] cards = RandomHands.cardIndices(new Random(42), hands);
+        Path handFile = Files.write(directory.resolve("hands.bin"), cards);
+        Path strengthFile = directory.resolve("hands.strengths");
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertEquals(hands, new HandFileRanker(1_000, pool).rank(handFile, strengthFile));
+        } finally {
+            pool.shutdown();
+        }
+
+        ByteBuffer strengths = ByteBuffer.wrap(Files.readAllBytes(strengthFile));
+        assertEquals(hands * HandFileRanker.STRENGTH_BYTES, strengths.capacity());
+        for (int hand = 0; hand < hands; hand++)
+            assertEquals(LookupTableEvaluator.strengthOf(cards[hand * 5], cards[hand * 5 + 1], cards[hand * 5 + 2], cards[hand * 5 + 3], cards[hand * 5 + 4]),
+                    strengths.getInt());
+    }
+
+    @Test
+    void testIncompleteHandFile() throws IOException {
+        Path handFile = Files.write(directory.resolve("broken.bin"), new byte[7]);
+        assertThrows(IOException.class, () -> new HandFileRanker().rank(handFile, directory.resolve("broken.strengths")));
+    }
+
+    @Test
+    void testInvalidCardsKeepTheStrengthFile() throws IOException {
+        Path strengthFile = Files.write(directory.resolve("hands.strengths"), new byte[]{1, 2, 3, 4});
+        Path outOfRange = Files.write(directory.resolve("out-of-range.bin"), new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 52});
+        IOException e = assertThrows(IOException.class, () -> new HandFileRanker().rank(outOfRange, strengthFile));
+        assertTrue(e.getMessage().endsWith("no card index 52 in the hand at offset 5"), e.getMessage());
+
+        Path negative = Files.write(directory.resolve("negative.bin"), new byte[]{-1, 1, 2, 3, 4});
+        e = assertThrows(IOException.class, () -> new HandFileRanker().rank(negative, strengthFile));
+        assertTrue(e.getMessage().endsWith("no card index 255 in the hand at offset 0"), e.getMessage());
+
+        Path twice = Files.write(directory.resolve("twice.bin"), new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 5});
+        e = assertThrows(IOException.class, () -> new HandFileRanker(1, ForkJoinPool.commonPool()).rank(twice, strengthFile));
+        assertTrue(e.getMessage().endsWith("a card twice in the hand at offset 5"), e.getMessage());
+
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, Files.readAllBytes(strengthFile));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(4, files.count()); // no temporary file left
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package poker.hands.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static poker.hands.Card.*;
+import static poker.hands.CardMasks.maskOf;
+import static poker.hands.CardValue.*;
+
+public class HandNotationParserTest {
+
+    @Test
+    void testParsesHandsAndLabels() {
+        List<String> parsed = new ArrayList<>();
+        List<Long> masks = new ArrayList<>();
+        HandNotationParser parser = new HandNotationParser(new HandNotationParser.Listener() {
+            @Override
+            public void hands(HandNotationParser.ParsedLine line) {
+                for (int hand = 0; hand < line.handCount(); hand++) {
+                    parsed.add(line.lineNumber() + ":" + line.label(hand));
+                    masks.add(line.mask(hand));
+                }
+            }
+
+            @Override
+            public void malformedLine(long lineNumber, long offset, String reason) {
+                parsed.add(lineNumber + "@" + offset + " " + reason);
+            }
+        });
+
+        parser.parse(buffer("Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C AH\r\n\nTH JH QH KH AH\n2H 3D 5S 9C\n2H 3D 5S 9C 1D\n"), true);
+
+        assertEquals(List.of("1:Black", "1:White", "3:null", "4@62 incomplete hand: 4 of 5 cards", "5@86 invalid card '1D'"), parsed);
+        assertEquals(maskOf(hearts(N2), diamonds(N3), spades(N5), clubs(N9), diamonds(KING)), masks.get(0));
+        assertEquals(maskOf(hearts(N10), hearts(JACK), hearts(QUEEN), hearts(KING), hearts(ACE)), masks.get(2));
+    }
+
+    @Test
+    void testIncompleteLineIsLeftForNextBuffer() {
+        StringWriter results = new StringWriter();
+        HandNotationParser parser = new HandNotationParser(new HandComparisonPrinter(new PrintWriter(results), new PrintWriter(new StringWriter())));
+
+        ByteBuffer first = buffer("2H 3D 5S 9C KD 2C 3H 4S 8C AH\n2H 4S 4C 2D");
+        parser.parse(first, false);
+        assertEquals(30, first.position());
+
+        // the caller passes the unparsed rest again, together with the following input
+        parser.parse(buffer("2H 4S 4C 2D 4H 2S 8S AS QS 3S"), true);
+        assertEquals(String.format("White wins%nBlack wins%n"), results.toString());
+    }
+
+    @Test
+    void testComparisonResults() {
+        StringWriter results = new StringWriter();
+        StringWriter errors = new StringWriter();
+        HandComparisonPrinter printer = new HandComparisonPrinter(new PrintWriter(results), new PrintWriter(errors));
+
+        new HandNotationParser(printer).parse(buffer("""
+                Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C AH
+                Black: 2H 4S 4C 2D 4H  White: 2S 8S AS QS 3S
+                Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C KH
+                Black: 2H 3D 5S 9C KD  White: 2D 3H 5C 9S KH
+                Black: 2H 3D 5S 9C KD  White: 2H 3H 4S 8C AH
+                """), true);
+
+        assertEquals(String.format("White wins%nBlack wins%nBlack wins%nTie%n"), results.toString());
+        assertEquals(String.format("line 5 (offset 210): duplicate card '2H'%n"), errors.toString());
+        assertEquals(4, printer.comparedLines());
+        assertEquals(1, printer.malformedLines());
+    }
+
+    private static ByteBuffer buffer(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,74 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import poker.hands.Card;
+import poker.hands.RandomHands;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BatchEvaluatorTest {
+    private static final int HANDS = 3 * BatchEvaluator.PARALLEL_THRESHOLD;
+
+    private static ForkJoinPool pool;
+
+    private final byte[] cards = RandomHands.cardIndices(new Random(42), HANDS);
+    private final long[] masks = new long[HANDS];
+    private final int[] expected = new int[HANDS];
+
+    BatchEvaluatorTest() {
+        for (int hand = 0; hand < HANDS; hand++) {
+            masks[hand] = RandomHands.maskOf(cards, hand);
+            expected[hand] = HandEvaluator.strengthOf(Card.ofIndex(cards[hand * 5]), Card.ofIndex(cards[hand * 5 + 1]),
+                    Card.ofIndex(cards[hand * 5 + 2]), Card.ofIndex(cards[hand * 5 + 3]), Card.ofIndex(cards[hand * 5 + 4]));
+        }
+    }
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(3);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testByteColumns() {
+        int[] strengths = new int[HANDS];
+        BatchEvaluator.strengthsOf(cards, strengths);
+        assertArrayEquals(expected, strengths);
+
+        int[] parallelStrengths = new int[HANDS];
+        BatchEvaluator.strengthsOf(cards, parallelStrengths, pool);
+        assertArrayEquals(expected, parallelStrengths);
+    }
+
+    @Test
+    void testByteBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(cards.length + 3);
+        buffer.put(new byte[3]).put(cards).flip().position(3);
+        int[] strengths = new int[HANDS];
+        BatchEvaluator.strengthsOf(buffer, strengths, pool);
+        assertArrayEquals(expected, strengths);
+    }
+
+    @Test
+    void testMasks() {
+        int[] strengths = new int[HANDS];
+        BatchEvaluator.strengthsOf(masks, strengths, pool);
+        assertArrayEquals(expected, strengths);
+    }
+
+    @Test
+    void testIncompleteHand() {
+        assertThrows(IllegalArgumentException.class, () -> BatchEvaluator.strengthsOf(new byte[7], new int[1]));
+    }
+}
@@ -0,0 +1,66 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.Card;
+import poker.hands.CardMasks;
+import poker.hands.RandomHands;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static poker.hands.Card.*;
+import static poker.hands.CardValue.*;
+import static poker.hands.ranking.Rankings.*;
+
+public class BestHandTest {
+
+    @Test
+    void testSevenCards() {
+        BestHand straightFlush = BestHand.of(hearts(N9), hearts(KING), hearts(N10), hearts(JACK), hearts(QUEEN), clubs(ACE), hearts(N2));
+        assertEquals(straightFlushWithHighCard(KING), straightFlush.ranking());
+        assertEquals(Set.of(hearts(N9), hearts(N10), hearts(JACK), hearts(QUEEN), hearts(KING)), Set.copyOf(straightFlush.cards()));
+
+        BestHand fullHouse = BestHand.of(clubs(N7), diamonds(N7), spades(N7), hearts(N5), clubs(N5), diamonds(N5), hearts(ACE));
+        assertEquals(fullHouseWithThreeAndPair(N7, N5), fullHouse.ranking());
+        assertEquals(5, fullHouse.cards().size());
+
+        BestHand flush = BestHand.of(spades(N2), spades(N9), spades(N4), spades(ACE), spades(N6), spades(N7), diamonds(N8));
+        assertEquals(flush(List.of(ACE, N9, N7, N6, N4)), flush.ranking());
+        assertEquals(Set.of(spades(ACE), spades(N9), spades(N7), spades(N6), spades(N4)), Set.copyOf(flush.cards()));
+
+        BestHand twoPairs = BestHand.of(clubs(N3), diamonds(N3), spades(N8), hearts(N8), clubs(QUEEN), diamonds(QUEEN), hearts(N4));
+        assertEquals(twoPairsWithPairsValuesAndRemainingCard(QUEEN, N8, N4), twoPairs.ranking());
+        assertEquals(Set.of(clubs(QUEEN), diamonds(QUEEN), spades(N8), hearts(N8), hearts(N4)), Set.copyOf(twoPairs.cards()));
+    }
+
+    @Test
+    void testSixCards() {
+        BestHand straight = BestHand.of(clubs(N3), diamonds(N4), spades(N5), hearts(N6), clubs(N7), diamonds(N8));
+        assertEquals(straightWithHighest(N8), straight.ranking());
+        assertEquals(Set.of(diamonds(N4), spades(N5), hearts(N6), clubs(N7), diamonds(N8)), Set.copyOf(straight.cards()));
+
+        BestHand wheel = BestHand.of(clubs(ACE), diamonds(N2), spades(N3), hearts(N4), clubs(N5), diamonds(KING));
+        assertEquals(straightWithHighest(N5), wheel.ranking());
+        assertEquals(Set.of(clubs(ACE), diamonds(N2), spades(N3), hearts(N4), clubs(N5)), Set.copyOf(wheel.cards()));
+    }
+
+    @Test
+    void testSameAsBestOfAllFiveCardSubsets() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long mask = RandomHands.mask(random, 7);
+            Card[] cards = CardMasks.cardsOf(mask).toArray(Card[]::new);
+
+            int best = 0;
+            for (int skipped = 0; skipped < 7; skipped++)
+                for (int alsoSkipped = skipped + 1; alsoSkipped < 7; alsoSkipped++)
+                    best = Math.max(best, HandEvaluator.strengthOf(mask & ~(1L << cards[skipped].index()) & ~(1L << cards[alsoSkipped].index())));
+
+            BestHand bestHand = BestHand.ofMask(mask);
+            assertEquals(best, bestHand.ranking().strength());
+            assertEquals(best, HandEvaluator.strengthOf(CardMasks.maskOf(bestHand.cards().toArray(Card[]::new))));
+        }
+    }
+}
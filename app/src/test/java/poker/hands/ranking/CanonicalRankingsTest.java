@@ -0,0 +1,49 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.CardHand;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static poker.hands.Card.*;
+import static poker.hands.CardValue.*;
+import static poker.hands.ranking.Rankings.*;
+
+public class CanonicalRankingsTest {
+
+    @Test
+    void testDistinctHandRankings() {
+        assertEquals(7_462, CanonicalRankings.handRankings());
+    }
+
+    @Test
+    void testSameInstanceFromAllFactories() {
+        Ranking ranking = pairOfWithRemainingCards(N6, List.of(ACE, N10, N3));
+        assertSame(ranking, pairOfWithRemainingCards(N6, List.of(ACE, N10, N3)));
+        assertSame(ranking, Strengths.rankingOf(ranking.strength()));
+        assertSame(ranking, HandEvaluator.evaluate(clubs(N6), diamonds(N10), spades(ACE), hearts(N6), clubs(N3)));
+        assertSame(ranking, LookupTableEvaluator.evaluate(clubs(N6), diamonds(N10), spades(ACE), hearts(N6), clubs(N3)));
+        assertSame(ranking, new CardHand(clubs(N6), diamonds(N10), spades(ACE), hearts(N6), clubs(N3)).ranking());
+        assertEquals(ranking.strength(), ranking.hashCode());
+    }
+
+    @Test
+    void testPartialHandRankingsArePrecomputed() {
+        assertSame(highCard(List.of(N3, N2)), highCard(List.of(N3, N2)));
+        assertEquals(List.of(N3, N2), Strengths.valuesOf(highCard(List.of(N3, N2)).strength()));
+        IncrementalEvaluator evaluator = new IncrementalEvaluator();
+        evaluator.add(clubs(N2));
+        evaluator.add(hearts(N3));
+        assertSame(highCard(List.of(N3, N2)), evaluator.ranking());
+        int rankings = CanonicalRankings.rankings();
+        threeOfAKindWithRemainingCards(KING, List.of(N4));
+        assertEquals(rankings, CanonicalRankings.rankings());
+    }
+
+    @Test
+    void testRankingsWithoutHandAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> highCard(List.of(N2, N3)));
+        assertThrows(IllegalArgumentException.class, () -> Strengths.rankingOf(-1));
+    }
+}
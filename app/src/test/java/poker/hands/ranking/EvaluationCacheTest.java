@@ -0,0 +1,82 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.CardHand;
+import poker.hands.CardMasks;
+import poker.hands.RandomHands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static poker.hands.Card.*;
+import static poker.hands.CardMasks.maskOf;
+import static poker.hands.CardValue.*;
+
+public class EvaluationCacheTest {
+
+    @Test
+    void testHitsAndMisses() {
+        EvaluationCache cache = new EvaluationCache(1_000);
+        long hand = maskOf(clubs(N6), diamonds(N10), spades(ACE), hearts(N6), clubs(N3));
+
+        assertEquals(1_024, cache.capacity());
+        assertEquals(HandEvaluator.strengthOf(hand), cache.strengthOf(hand));
+        assertEquals(HandEvaluator.strengthOf(hand), cache.strengthOf(hand));
+        assertSame(HandEvaluator.evaluate(clubs(N6), diamonds(N10), spades(ACE), hearts(N6), clubs(N3)), cache.evaluate(hand));
+        assertEquals(2, cache.hits());
+        assertEquals(1, cache.misses());
+        assertSame(cache.evaluate(hand), CardHand.ofMask(hand, cache).ranking());
+    }
+
+    @Test
+    void testEvictsWhenFull() {
+        EvaluationCache cache = new EvaluationCache(64);
+        Random random = new Random(17);
+        for (int i = 0; i < 10_000; i++) {
+            long hand = RandomHands.mask(random, 5 + random.nextInt(3));
+            assertEquals(HandEvaluator.strengthOf(hand), cache.strengthOf(hand), () -> CardMasks.cardsOf(hand).toString());
+        }
+        assertEquals(10_000, cache.hits() + cache.misses());
+        assertTrue(cache.evictions() > 0);
+        assertTrue(cache.evictions() <= cache.misses());
+    }
+
+    @Test
+    void testConcurrentLookups() throws InterruptedException {
+        EvaluationCache cache = new EvaluationCache(256);
+        long[] hands = new long[512];
+        Random random = new Random(7);
+        for (int i = 0; i < hands.length; i++)
+            hands[i] = RandomHands.mask(random, 7);
+
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    long hand = hands[(i * 31 + offset) % hands.length];
+                    if (cache.strengthOf(hand) != HandEvaluator.strengthOf(hand))
+                        synchronized (failures) {
+                            failures.add(new AssertionError(CardMasks.cardsOf(hand)));
+                        }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads)
+            thread.join();
+        assertEquals(List.of(), failures);
+        assertEquals(8 * 50_000, cache.hits() + cache.misses());
+    }
+
+    @Test
+    void testInvalidHands() {
+        EvaluationCache cache = new EvaluationCache(64);
+        assertThrows(IllegalArgumentException.class, () -> cache.strengthOf(maskOf(clubs(N6), diamonds(N10))));
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationCache(4));
+    }
+}
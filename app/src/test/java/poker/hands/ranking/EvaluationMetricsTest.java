@@ -0,0 +1,91 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import poker.hands.CardHand;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static poker.hands.Card.*;
+import static poker.hands.CardMasks.maskOf;
+import static poker.hands.CardValue.*;
+import static poker.hands.ranking.EvaluationMetrics.Evaluator.*;
+import static poker.hands.ranking.RankingCategory.*;
+
+public class EvaluationMetricsTest {
+
+    @AfterEach
+    void disable() {
+        EvaluationMetrics.disable();
+    }
+
+    @Test
+    void testRecordsWhileEnabled() {
+        EvaluationMetrics metrics = EvaluationMetrics.enable();
+        new CardHand(clubs(N6), diamonds(N10), spades(ACE), hearts(N6), clubs(N3));
+        HandEvaluator.strengthOf(maskOf(clubs(N2), clubs(N3), clubs(N4), clubs(N5), clubs(N6), hearts(N6)));
+        LookupTableEvaluator.strengthOf(clubs(N2), diamonds(N2), hearts(N2), clubs(N3), diamonds(N3));
+        BatchEvaluator.strengthsOf(new byte[]{0, 1, 2, 3, 4, 13, 14, 15, 16, 17}, new int[2]);
+        EvaluationCache cache = new EvaluationCache(64);
+        cache.strengthOf(maskOf(clubs(N2), diamonds(N7), hearts(N9), spades(JACK), clubs(KING)));
+        cache.strengthOf(maskOf(clubs(N2), diamonds(N7), hearts(N9), spades(JACK), clubs(KING)));
+
+        assertEquals(1, metrics.evaluations(RANKING_BUILDER, PAIR));
+        assertEquals(1, metrics.evaluations(HAND_EVALUATOR, STRAIGHT_FLUSH));
+        assertEquals(1, metrics.evaluations(LOOKUP_TABLE, FULL_HOUSE));
+        assertEquals(2, metrics.evaluations(LOOKUP_TABLE, STRAIGHT_FLUSH)); // both hands of the batch
+        assertEquals(1, metrics.evaluations(HAND_EVALUATOR, HIGH_CARD)); // the cache miss only
+        assertEquals(1, metrics.getBatches());
+        assertEquals(2, metrics.getBatchedHands());
+        assertEquals(1, metrics.getCacheHits());
+        assertEquals(1, metrics.getCacheMisses());
+        assertEquals(EvaluationMetrics.chainDepthOf(PAIR), metrics.getAverageChainDepth());
+    }
+
+    @Test
+    void testBuildLatencyIsSampled() {
+        EvaluationMetrics metrics = EvaluationMetrics.enable();
+        int builds = 64 * EvaluationMetrics.BUILD_SAMPLING;
+        for (int i = 0; i < builds; i++)
+            new CardHand(clubs(N6), diamonds(N10), spades(ACE), hearts(N6), clubs(N3));
+
+        assertEquals(builds, metrics.evaluations(RANKING_BUILDER, PAIR));
+        long timed = metrics.getBuildLatencies().values().stream().mapToLong(Long::longValue).sum();
+        assertTrue(timed > 0 && timed < builds / 8, timed + " of " + builds + " builds timed");
+    }
+
+    @Test
+    void testNothingRecordedWhileDisabled() {
+        EvaluationMetrics metrics = EvaluationMetrics.enable();
+        EvaluationMetrics.disable();
+        assertNull(EvaluationMetrics.active());
+        HandEvaluator.strengthOf(clubs(N6), diamonds(N10), spades(ACE), hearts(N6), clubs(N3));
+        new CardHand(clubs(N6), diamonds(N10), spades(ACE), hearts(N6), clubs(N3));
+        assertEquals(0, metrics.getEvaluations());
+    }
+
+    @Test
+    void testJmx() throws Exception {
+        EvaluationMetrics.enable();
+        HandEvaluator.strengthOf(clubs(N6), diamonds(N10), spades(ACE), hearts(N6), clubs(N3));
+        ObjectName name = new ObjectName(EvaluationMetrics.OBJECT_NAME);
+
+        assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Evaluations"));
+        TabularData byCategory = (TabularData) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "EvaluationsByCategory");
+        assertEquals(1L, byCategory.get(new Object[]{"PAIR"}).get("value"));
+
+        EvaluationMetrics.disable();
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    @Test
+    void testLatencyBuckets() {
+        assertEquals(0, EvaluationMetrics.bucketOf(0));
+        assertEquals(1, EvaluationMetrics.bucketOf(1));
+        assertEquals(10, EvaluationMetrics.bucketOf(1023));
+        assertEquals(11, EvaluationMetrics.bucketOf(1024));
+    }
+}
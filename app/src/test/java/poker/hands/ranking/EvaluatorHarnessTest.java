@@ -0,0 +1,59 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static poker.hands.CardValue.N5;
+import static poker.hands.ranking.RankingCategory.*;
+
+public class EvaluatorHarnessTest {
+    private static EvaluatorHarness harness;
+
+    @BeforeAll
+    static void evaluateReference() {
+        harness = new EvaluatorHarness(ForkJoinPool.commonPool());
+    }
+
+    @Test
+    void testReferenceHasKnownCategoryCounts() {
+        EvaluatorHarness.Report reference = harness.reference();
+
+        assertEquals(40, reference.count(STRAIGHT_FLUSH));
+        assertEquals(624, reference.count(FOUR_OF_A_KND));
+        assertEquals(3_744, reference.count(FULL_HOUSE));
+        assertEquals(5_108, reference.count(FLUSH));
+        assertEquals(10_200, reference.count(STRAIGHT));
+        assertEquals(1_302_540, reference.count(HIGH_CARD));
+        assertTrue(reference.passed(), reference::toString);
+    }
+
+    @Test
+    void testAllEvaluatorsMatchReference() {
+        for (EvaluatorHarness.Report report : harness.checkAll()) {
+            assertEquals(0, report.mismatches(), report::toString);
+            assertTrue(report.passed(), report::toString);
+            assertTrue(report.handsPerSecond() > 0);
+        }
+    }
+
+    @Test
+    void testReportsMismatches() {
+        // an evaluator without the wheel, like RankingBuilder used to be
+        EvaluatorHarness.Report report = harness.check("no wheel", EvaluatorHarness.perHand((first, second, third, fourth, fifth) -> {
+            long mask = 1L << first | 1L << second | 1L << third | 1L << fourth | 1L << fifth;
+            int strength = HandEvaluator.strengthOf(mask);
+            if (strength == Strengths.of(STRAIGHT, 1 << N5.ordinal()))
+                return Strengths.of(HIGH_CARD, 1 << 12 | 0b1111);
+            return strength;
+        }));
+
+        assertEquals(1_020, report.mismatches());
+        assertEquals(10_200 - 1_020, report.count(STRAIGHT));
+        assertNotEquals(0L, report.firstMismatch());
+        assertFalse(report.passed());
+        assertTrue(report.toString().contains("1020 mismatches"), report::toString);
+    }
+}
@@ -0,0 +1,63 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.Card;
+import poker.hands.CardMasks;
+import poker.hands.RandomHands;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static poker.hands.Card.*;
+import static poker.hands.CardMasks.maskOf;
+import static poker.hands.CardValue.*;
+import static poker.hands.ranking.Rankings.*;
+
+public class HandEvaluatorTest {
+
+    @Test
+    void testCategories() {
+        assertEquals(straightFlushWithHighCard(ACE), HandEvaluator.evaluate(hearts(N10), hearts(JACK), hearts(QUEEN), hearts(KING), hearts(ACE)));
+        assertEquals(fourOfAKindWithRemainingCard(N3, N2), HandEvaluator.evaluate(spades(N3), diamonds(N3), hearts(N3), clubs(N2), clubs(N3)));
+        assertEquals(fullHouseWithThreeAndPair(N3, N7), HandEvaluator.evaluate(clubs(N3), diamonds(N3), spades(N3), hearts(N7), clubs(N7)));
+        assertEquals(flush(List.of(ACE, JACK, N10, N3, N2)), HandEvaluator.evaluate(clubs(N3), clubs(N2), clubs(JACK), clubs(N10), clubs(ACE)));
+        assertEquals(straightWithHighest(N6), HandEvaluator.evaluate(spades(N2), diamonds(N6), hearts(N3), clubs(N5), diamonds(N4)));
+        assertEquals(threeOfAKindWithRemainingCards(N3, List.of(N6, N4)), HandEvaluator.evaluate(spades(N3), diamonds(N6), hearts(N3), clubs(N3), diamonds(N4)));
+        assertEquals(twoPairsWithPairsValuesAndRemainingCard(N4, N2, ACE), HandEvaluator.evaluate(clubs(ACE), diamonds(N2), hearts(N4), clubs(N2), diamonds(N4)));
+        assertEquals(pairOfWithRemainingCards(N6, List.of(ACE, N10, N3)), HandEvaluator.evaluate(clubs(N6), diamonds(N10), spades(ACE), hearts(N6), clubs(N3)));
+        assertEquals(highCard(List.of(ACE, N10, N5, N4, N3)), HandEvaluator.evaluate(clubs(N5), diamonds(N10), spades(ACE), hearts(N3), clubs(N4)));
+    }
+
+    @Test
+    void testKickersOfSetsOnSharedBoard() {
+        long kingsFullOfFives = maskOf(clubs(KING), diamonds(KING), hearts(KING), clubs(N5), diamonds(N5));
+        int acesUp = HandEvaluator.strengthOf(kingsFullOfFives | maskOf(spades(ACE), hearts(ACE)));
+        int queensUp = HandEvaluator.strengthOf(kingsFullOfFives | maskOf(spades(QUEEN), hearts(QUEEN)));
+        assertEquals(fullHouseWithThreeAndPair(KING, ACE), Strengths.rankingOf(acesUp));
+        assertTrue(acesUp > queensUp);
+
+        long sevens = maskOf(clubs(N7), diamonds(N7), hearts(N7), clubs(KING), diamonds(N2));
+        int aceKicker = HandEvaluator.strengthOf(sevens | maskOf(spades(ACE), hearts(N3)));
+        int queenKicker = HandEvaluator.strengthOf(sevens | maskOf(spades(QUEEN), hearts(N4)));
+        assertEquals(threeOfAKindWithRemainingCards(N7, List.of(ACE, KING)), Strengths.rankingOf(aceKicker));
+        assertTrue(aceKicker > queenKicker);
+
+        long quads = maskOf(clubs(N9), diamonds(N9), hearts(N9), spades(N9), clubs(N2));
+        assertEquals(fourOfAKindWithRemainingCard(N9, ACE), Strengths.rankingOf(HandEvaluator.strengthOf(quads | maskOf(spades(ACE), hearts(N3)))));
+    }
+
+    @Test
+    void testSameRankingAsRankingBuilder() {
+        // all hands are compared by EvaluatorHarnessTest
+        Random random = new Random(3);
+        for (int i = 0; i < 10_000; i++) {
+            Card[] cards = CardMasks.cardsOf(RandomHands.mask(random, 5)).toArray(Card[]::new);
+            assertEquals(new RankingBuilder(cards[0], cards[1], cards[2], cards[3], cards[4]).build(),
+                    HandEvaluator.evaluate(cards[0], cards[1], cards[2], cards[3], cards[4]));
+        }
+        assertEquals(straightWithHighest(N5), HandEvaluator.evaluate(clubs(ACE), diamonds(N2), clubs(N3), clubs(N4), clubs(N5)));
+        assertEquals(straightFlushWithHighCard(N5), HandEvaluator.evaluate(clubs(ACE), clubs(N2), clubs(N3), clubs(N4), clubs(N5)));
+    }
+}
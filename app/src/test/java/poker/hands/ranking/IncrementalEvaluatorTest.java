@@ -0,0 +1,65 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.CardMasks;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static poker.hands.Card.*;
+import static poker.hands.CardValue.*;
+import static poker.hands.ranking.Rankings.*;
+
+public class IncrementalEvaluatorTest {
+
+    @Test
+    void testStreetByStreet() {
+        IncrementalEvaluator evaluator = IncrementalEvaluator.of(spades(ACE), hearts(ACE));
+        assertEquals(pairOfWithRemainingCards(ACE, List.of()), evaluator.ranking());
+
+        evaluator.add(spades(KING));
+        evaluator.add(spades(QUEEN));
+        evaluator.add(clubs(N2)); // flop
+        assertEquals(pairOfWithRemainingCards(ACE, List.of(KING, QUEEN, N2)), evaluator.ranking());
+        evaluator.add(spades(JACK)); // turn
+        assertEquals(pairOfWithRemainingCards(ACE, List.of(KING, QUEEN, JACK)), evaluator.ranking());
+
+        IncrementalEvaluator river = evaluator.copy();
+        river.add(spades(N10));
+        assertEquals(straightFlushWithHighCard(ACE), river.ranking());
+        river.remove(spades(N10));
+        river.add(diamonds(N10));
+        assertEquals(straightWithHighest(ACE), river.ranking());
+        assertEquals(6, evaluator.size());
+    }
+
+    @Test
+    void testSameAsHandEvaluator() {
+        Random random = new Random(16);
+        IncrementalEvaluator evaluator = new IncrementalEvaluator();
+        for (int step = 0; step < 200_000; step++) {
+            int card = random.nextInt(CardMasks.CARDS);
+            if ((evaluator.mask() & 1L << card) != 0)
+                evaluator.remove(card);
+            else if (evaluator.size() < 7)
+                evaluator.add(card);
+            if (evaluator.size() >= 5)
+                assertEquals(HandEvaluator.strengthOf(evaluator.mask()), evaluator.strength(), () -> CardMasks.cardsOf(evaluator.mask()).toString());
+        }
+    }
+
+    @Test
+    void testInvalidChanges() {
+        IncrementalEvaluator evaluator = IncrementalEvaluator.of(clubs(N2), clubs(N3), clubs(N4), clubs(N5), clubs(N6), clubs(N7), clubs(N8));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.add(clubs(N9)));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.remove(diamonds(N2)));
+        evaluator.remove(clubs(N8));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.add(clubs(N7)));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.add(CardMasks.CARDS));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.add(-1));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.add(64)); // would shift to the same bit as card 0
+        assertThrows(IllegalArgumentException.class, () -> evaluator.remove(64));
+        assertEquals(6, evaluator.size());
+    }
+}
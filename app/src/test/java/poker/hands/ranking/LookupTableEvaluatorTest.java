@@ -0,0 +1,43 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.Card;
+import poker.hands.CardMasks;
+import poker.hands.RandomHands;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static poker.hands.Card.*;
+import static poker.hands.CardValue.*;
+import static poker.hands.ranking.Rankings.*;
+
+public class LookupTableEvaluatorTest {
+
+    @Test
+    void testCategories() {
+        assertEquals(straightFlushWithHighCard(N8), LookupTableEvaluator.evaluate(diamonds(N8), diamonds(N6), diamonds(N4), diamonds(N5), diamonds(N7)));
+        assertEquals(fourOfAKindWithRemainingCard(ACE, N7), LookupTableEvaluator.evaluate(diamonds(ACE), diamonds(N7), spades(ACE), hearts(ACE), clubs(ACE)));
+        assertEquals(fullHouseWithThreeAndPair(KING, QUEEN), LookupTableEvaluator.evaluate(diamonds(KING), diamonds(QUEEN), spades(KING), hearts(QUEEN), clubs(KING)));
+        assertEquals(flush(List.of(KING, QUEEN, JACK, N10, N8)), LookupTableEvaluator.evaluate(diamonds(N8), diamonds(N10), diamonds(JACK), diamonds(QUEEN), diamonds(KING)));
+        assertEquals(straightWithHighest(ACE), LookupTableEvaluator.evaluate(clubs(ACE), clubs(QUEEN), clubs(JACK), clubs(KING), diamonds(N10)));
+        assertEquals(threeOfAKindWithRemainingCards(ACE, List.of(KING, JACK)), LookupTableEvaluator.evaluate(spades(ACE), clubs(ACE), clubs(JACK), clubs(KING), diamonds(ACE)));
+        assertEquals(twoPairsWithPairsValuesAndRemainingCard(ACE, KING, QUEEN), LookupTableEvaluator.evaluate(spades(ACE), clubs(ACE), clubs(KING), clubs(QUEEN), diamonds(KING)));
+        assertEquals(pairOfWithRemainingCards(ACE, List.of(N4, N3, N2)), LookupTableEvaluator.evaluate(spades(ACE), clubs(ACE), clubs(N3), clubs(N4), diamonds(N2)));
+        assertEquals(highCard(List.of(N7, N6, N4, N3, N2)), LookupTableEvaluator.evaluate(spades(N3), clubs(N2), clubs(N6), clubs(N4), diamonds(N7)));
+    }
+
+    @Test
+    void testSameRankingAsRankingBuilder() {
+        // all hands are compared by EvaluatorHarnessTest
+        Random random = new Random(5);
+        for (int i = 0; i < 10_000; i++) {
+            Card[] cards = CardMasks.cardsOf(RandomHands.mask(random, 5)).toArray(Card[]::new);
+            assertEquals(new RankingBuilder(cards[0], cards[1], cards[2], cards[3], cards[4]).build().strength(),
+                    LookupTableEvaluator.strengthOf(cards[0], cards[1], cards[2], cards[3], cards[4]));
+        }
+        assertEquals(straightWithHighest(N5), LookupTableEvaluator.evaluate(clubs(ACE), diamonds(N2), clubs(N3), clubs(N4), clubs(N5)));
+        assertEquals(straightFlushWithHighCard(N5), LookupTableEvaluator.evaluate(clubs(ACE), clubs(N2), clubs(N3), clubs(N4), clubs(N5)));
+    }
+}
@@ -0,0 +1,96 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.Card;
+import poker.hands.CardMasks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static poker.hands.Card.*;
+import static poker.hands.CardMasks.maskOf;
+import static poker.hands.CardValue.*;
+import static poker.hands.ranking.Rankings.*;
+
+public class OmahaEvaluatorTest {
+
+    @Test
+    void testTwoHoleCardsAndThreeBoardCards() {
+        OmahaEvaluator evaluator = OmahaEvaluator.ofBoard(hearts(KING), hearts(N9), hearts(N4), clubs(N7), diamonds(N2));
+
+        // four aces, but only two of them play
+        assertEquals(pairOfWithRemainingCards(ACE, List.of(KING, N9, N7)),
+                evaluator.bestHand(spades(ACE), hearts(ACE), clubs(ACE), diamonds(ACE)).ranking());
+        // one heart doesn't make a flush with three on the board
+        assertEquals(highCard(List.of(ACE, KING, QUEEN, N9, N7)),
+                evaluator.bestHand(hearts(ACE), clubs(QUEEN), diamonds(N3), spades(N5)).ranking());
+        BestHand flush = evaluator.bestHand(hearts(ACE), hearts(QUEEN), diamonds(N3), spades(N5));
+        assertEquals(flush(List.of(ACE, KING, QUEEN, N9, N4)), flush.ranking());
+        assertEquals(Set.of(hearts(ACE), hearts(QUEEN), hearts(KING), hearts(N9), hearts(N4)), Set.copyOf(flush.cards()));
+    }
+
+    @Test
+    void testBoardFlushNeedsTwoHoleCards() {
+        OmahaEvaluator evaluator = OmahaEvaluator.ofBoard(spades(N2), spades(N6), spades(N9), spades(JACK), clubs(KING));
+
+        assertEquals(pairOfWithRemainingCards(KING, List.of(ACE, JACK, N9)),
+                evaluator.bestHand(spades(ACE), diamonds(KING), clubs(N3), hearts(N4)).ranking());
+        // the wheel with two hole cards
+        assertEquals(straightWithHighest(N5),
+                OmahaEvaluator.ofBoard(clubs(ACE), diamonds(N2), hearts(N3), spades(KING), spades(QUEEN))
+                        .bestHand(clubs(N4), diamonds(N5), hearts(N9), spades(N9)).ranking());
+    }
+
+    @Test
+    void testSameAsBestOfAllCombinations() {
+        Random random = new Random(21);
+        OmahaEvaluator reused = new OmahaEvaluator();
+        for (int deal = 0; deal < 3_000; deal++) {
+            int deckSize = random.nextBoolean() ? CardMasks.CARDS : CardMasks.CARDS / 2; // two suits: many flushes
+            long board = randomCards(random, deckSize, 3 + random.nextInt(3), 0L);
+            long holeCards = randomCards(random, deckSize, 4 + random.nextInt(2), board);
+            OmahaEvaluator evaluator = OmahaEvaluator.ofBoard(board);
+            BestHand bestHand = evaluator.bestHand(holeCards);
+
+            int expected = bruteForceStrength(board, holeCards);
+            assertEquals(expected, evaluator.strengthOf(holeCards), () -> CardMasks.cardsOf(holeCards) + " on " + CardMasks.cardsOf(board));
+            long chosen = maskOf(bestHand.cards().toArray(Card[]::new));
+            assertEquals(2, Long.bitCount(chosen & holeCards));
+            assertEquals(3, Long.bitCount(chosen & board));
+            assertEquals(expected, HandEvaluator.strengthOf(chosen));
+            reused.prepare(board); // the tables of the previous board are overwritten
+            assertEquals(expected, reused.strengthOf(holeCards));
+        }
+    }
+
+    @Test
+    void testInvalidCards() {
+        OmahaEvaluator evaluator = OmahaEvaluator.ofBoard(hearts(KING), hearts(N9), hearts(N4));
+
+        assertThrows(IllegalArgumentException.class, () -> evaluator.bestHand(spades(ACE), hearts(ACE), clubs(ACE)));
+        assertThrows(IllegalArgumentException.class, () -> evaluator.bestHand(spades(ACE), hearts(ACE), clubs(ACE), hearts(KING)));
+        assertThrows(IllegalArgumentException.class, () -> OmahaEvaluator.ofBoard(hearts(KING), hearts(N9)));
+        assertThrows(IllegalStateException.class, () -> new OmahaEvaluator().strengthOf(maskOf(spades(ACE), hearts(ACE), clubs(ACE), clubs(N2))));
+    }
+
+    private static int bruteForceStrength(long board, long holeCards) {
+        int best = -1;
+        for (long first = holeCards; first != 0; first &= first - 1)
+            for (long second = first & first - 1; second != 0; second &= second - 1)
+                for (long a = board; a != 0; a &= a - 1)
+                    for (long b = a & a - 1; b != 0; b &= b - 1)
+                        for (long c = b & b - 1; c != 0; c &= c - 1)
+                            best = Math.max(best, HandEvaluator.strengthOf(Long.lowestOneBit(first) | Long.lowestOneBit(second)
+                                    | Long.lowestOneBit(a) | Long.lowestOneBit(b) | Long.lowestOneBit(c)));
+        return best;
+    }
+
+    private static long randomCards(Random random, int deckSize, int count, long excluded) {
+        long cards = 0L;
+        while (Long.bitCount(cards) < count)
+            cards |= 1L << random.nextInt(deckSize) & ~excluded;
+        return cards;
+    }
+}
@@ -22,23 +22,24 @@ public class RankingBuilderTest {
         assertEquals(straightFlushWithHighCard(N8), rankingFor(clubs(N8), clubs(N6), clubs(N4), clubs(N5), clubs(N7)));
         assertEquals(straightFlushWithHighCard(N8), rankingFor(diamonds(N8), diamonds(N6), diamonds(N4), diamonds(N5), diamonds(N7)));
         assertEquals(straightFlushWithHighCard(ACE), rankingFor(hearts(N10), hearts(JACK), hearts(QUEEN), hearts(KING), hearts(ACE)));
+        assertEquals(straightFlushWithHighCard(N5), rankingFor(spades(N3), spades(ACE), spades(N5), spades(N2), spades(N4)));
     }
 
     @Test
     void testFourOfAKind() {
-        assertEquals(fourOfAKind(N7), rankingFor(clubs(N3), diamonds(N7), spades(N7), hearts(N7), clubs(N7)));
-        assertEquals(fourOfAKind(N7), rankingFor(clubs(ACE), diamonds(N7), spades(N7), hearts(N7), clubs(N7)));
-        assertEquals(fourOfAKind(ACE), rankingFor(diamonds(ACE), diamonds(N7), spades(ACE), hearts(ACE), clubs(ACE)));
-        assertEquals(fourOfAKind(QUEEN), rankingFor(hearts(QUEEN), diamonds(QUEEN), spades(ACE), spades(QUEEN), clubs(QUEEN)));
-        assertEquals(fourOfAKind(N3), rankingFor(spades(N3), diamonds(N3), hearts(N3), clubs(N2), clubs(N3)));
-        assertEquals(fourOfAKind(N6), rankingFor(clubs(N6), hearts(N6), diamonds(N6), clubs(N6), diamonds(N3)));
+        assertEquals(fourOfAKindWithRemainingCard(N7, N3), rankingFor(clubs(N3), diamonds(N7), spades(N7), hearts(N7), clubs(N7)));
+        assertEquals(fourOfAKindWithRemainingCard(N7, ACE), rankingFor(clubs(ACE), diamonds(N7), spades(N7), hearts(N7), clubs(N7)));
+        assertEquals(fourOfAKindWithRemainingCard(ACE, N7), rankingFor(diamonds(ACE), diamonds(N7), spades(ACE), hearts(ACE), clubs(ACE)));
+        assertEquals(fourOfAKindWithRemainingCard(QUEEN, ACE), rankingFor(hearts(QUEEN), diamonds(QUEEN), spades(ACE), spades(QUEEN), clubs(QUEEN)));
+        assertEquals(fourOfAKindWithRemainingCard(N3, N2), rankingFor(spades(N3), diamonds(N3), hearts(N3), clubs(N2), clubs(N3)));
+        assertEquals(fourOfAKindWithRemainingCard(N6, N3), rankingFor(clubs(N6), hearts(N6), diamonds(N6), clubs(N6), diamonds(N3)));
     }
 
     @Test
     void testFullHouse() {
-        assertEquals(fullHouseWithThree(N7), rankingFor(clubs(N3), diamonds(N3), spades(N7), hearts(N7), clubs(N7)));
-        assertEquals(fullHouseWithThree(N3), rankingFor(clubs(N3), diamonds(N3), spades(N3), hearts(N7), clubs(N7)));
-        assertEquals(fullHouseWithThree(KING), rankingFor(diamonds(KING), diamonds(QUEEN), spades(KING), hearts(QUEEN), clubs(KING)));
+        assertEquals(fullHouseWithThreeAndPair(N7, N3), rankingFor(clubs(N3), diamonds(N3), spades(N7), hearts(N7), clubs(N7)));
+        assertEquals(fullHouseWithThreeAndPair(N3, N7), rankingFor(clubs(N3), diamonds(N3), spades(N3), hearts(N7), clubs(N7)));
+        assertEquals(fullHouseWithThreeAndPair(KING, QUEEN), rankingFor(diamonds(KING), diamonds(QUEEN), spades(KING), hearts(QUEEN), clubs(KING)));
     }
 
     @Test
@@ -52,12 +53,14 @@ public class RankingBuilderTest {
     void testStraight() {
         assertEquals(straightWithHighest(ACE), rankingFor(clubs(ACE), clubs(QUEEN), clubs(JACK), clubs(KING), diamonds(N10)));
         assertEquals(straightWithHighest(N6), rankingFor(spades(N2), diamonds(N6), hearts(N3), clubs(N5), diamonds(N4)));
+        assertEquals(straightWithHighest(N5), rankingFor(spades(N2), diamonds(ACE), hearts(N3), clubs(N5), diamonds(N4)));
+        assertEquals(highCard(List.of(ACE, KING, N4, N3, N2)), rankingFor(spades(N2), diamonds(ACE), hearts(N3), clubs(KING), diamonds(N4)));
     }
 
     @Test
     void testThreeOfAKind() {
-        assertEquals(threeOfAKind(ACE), rankingFor(spades(ACE), clubs(ACE), clubs(JACK), clubs(KING), diamonds(ACE)));
-        assertEquals(threeOfAKind(N3), rankingFor(spades(N3), diamonds(N6), hearts(N3), clubs(N3), diamonds(N4)));
+        assertEquals(threeOfAKindWithRemainingCards(ACE, List.of(KING, JACK)), rankingFor(spades(ACE), clubs(ACE), clubs(JACK), clubs(KING), diamonds(ACE)));
+        assertEquals(threeOfAKindWithRemainingCards(N3, List.of(N6, N4)), rankingFor(spades(N3), diamonds(N6), hearts(N3), clubs(N3), diamonds(N4)));
     }
 
     @Test
@@ -0,0 +1,96 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.CardHand;
+import poker.hands.RandomHands;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StrengthSortTest {
+
+    @Test
+    void testSortsLikeArraysSort() {
+        int[] strengths = randomStrengths(new Random(3), 5_000);
+        int[] expected = strengths.clone();
+        Arrays.sort(expected);
+
+        StrengthSort.sort(strengths);
+
+        assertArrayEquals(expected, strengths);
+    }
+
+    @Test
+    void testSortsInParallel() {
+        int[] strengths = randomStrengths(new Random(5), 5 * StrengthSort.PARALLEL_THRESHOLD);
+        int[] expected = strengths.clone();
+        Arrays.sort(expected);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            int[] order = StrengthSort.sortedOrder(strengths, pool);
+            StrengthSort.sort(strengths, pool);
+
+            assertArrayEquals(expected, strengths);
+            assertStable(strengths, order);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSortedOrderIsStable() {
+        int[] strengths = {7 << 20, 1 << 20 | 5, 7 << 20, 1 << 20 | 5, 3};
+
+        int[] order = StrengthSort.sortedOrder(strengths);
+
+        assertArrayEquals(new int[]{4, 1, 3, 0, 2}, order);
+    }
+
+    @Test
+    void testSkipsSharedBytes() {
+        int[] strengths = {5 << 20, 5 << 20, 5 << 20};
+
+        StrengthSort.sort(strengths);
+
+        assertArrayEquals(new int[]{5 << 20, 5 << 20, 5 << 20}, strengths);
+        assertArrayEquals(new int[0], StrengthSort.sortedOrder(new int[0]));
+    }
+
+    @Test
+    void testSortsHandsLikeCompareTo() {
+        Random random = new Random(11);
+        List<CardHand> hands = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++)
+            hands.add(CardHand.ofMask(RandomHands.mask(random, 5)));
+        List<CardHand> expected = new ArrayList<>(hands);
+        expected.sort(null); // stable, like the radix sort
+
+        List<CardHand> sorted = StrengthSort.sort(hands);
+
+        assertEquals(ids(expected), ids(sorted));
+    }
+
+    /* order of the sorted strengths, equal ones by index */
+    private static void assertStable(int[] sortedStrengths, int[] order) {
+        for (int i = 1; i < order.length; i++)
+            if (sortedStrengths[i] == sortedStrengths[i - 1])
+                assertTrue(order[i - 1] < order[i]);
+    }
+
+    private static List<Integer> ids(List<CardHand> hands) {
+        return hands.stream().map(System::identityHashCode).collect(Collectors.toList());
+    }
+
+    static int[] randomStrengths(Random random, int count) {
+        int[] strengths = new int[count];
+        for (int i = 0; i < count; i++)
+            strengths[i] = HandEvaluator.strengthOf(RandomHands.mask(random, 5));
+        return strengths;
+    }
+}
@@ -0,0 +1,53 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static poker.hands.Card.*;
+import static poker.hands.CardValue.*;
+import static poker.hands.ranking.Rankings.*;
+
+public class StrengthsTest {
+
+    @Test
+    void testRoundTrip() {
+        List<Ranking> rankings = List.of(
+                straightFlushWithHighCard(ACE),
+                fourOfAKindWithRemainingCard(N2, KING),
+                fullHouseWithThreeAndPair(QUEEN, N3),
+                flush(List.of(ACE, JACK, N10, N3, N2)),
+                straightWithHighest(N6),
+                threeOfAKindWithRemainingCards(N10, List.of(ACE, N2)),
+                twoPairsWithPairsValuesAndRemainingCard(N4, N2, ACE),
+                pairOfWithRemainingCards(N6, List.of(ACE, N10, N3)),
+                highCard(List.of(N7, N6, N4, N3, N2)));
+        for (Ranking ranking : rankings) {
+            assertEquals(ranking, Strengths.rankingOf(ranking.strength()));
+            assertEquals(ranking.category(), Strengths.categoryOf(ranking.strength()));
+        }
+    }
+
+    @Test
+    void testOrderedLikeRankings() {
+        assertThat(fourOfAKindWithRemainingCard(N2, N3).strength(), greaterThan(fullHouseWithThreeAndPair(ACE, KING).strength()));
+        assertThat(fullHouseWithThreeAndPair(KING, ACE).strength(), greaterThan(fullHouseWithThreeAndPair(KING, QUEEN).strength()));
+        assertThat(threeOfAKindWithRemainingCards(N7, List.of(ACE, N3)).strength(), greaterThan(threeOfAKindWithRemainingCards(N7, List.of(QUEEN, N4)).strength()));
+        assertThat(flush(List.of(N7, N5, N4, N3, N2)).strength(), greaterThan(straightWithHighest(ACE).strength()));
+        assertThat(highCard(List.of(ACE, KING, QUEEN, JACK, N9)).strength(), greaterThan(highCard(List.of(ACE, KING, QUEEN, JACK, N8)).strength()));
+        assertThat(twoPairsWithPairsValuesAndRemainingCard(N4, N3, N2).strength(), greaterThan(twoPairsWithPairsValuesAndRemainingCard(N4, N2, ACE).strength()));
+        // shorter value lists come first, as with Lists.compareByElements
+        assertThat(highCard(List.of(N3, N2)).strength(), greaterThan(highCard(List.of(N3)).strength()));
+    }
+
+    @Test
+    void testStrengthOfCards() {
+        assertEquals(pairOfWithRemainingCards(N6, List.of(ACE, N10, N3)).strength(),
+                HandEvaluator.strengthOf(clubs(N6), diamonds(N10), spades(ACE), hearts(N6), clubs(N3)));
+        assertThrows(IllegalArgumentException.class, () -> HandEvaluator.strengthOf(clubs(N6), diamonds(N10), spades(ACE), hearts(N6)));
+    }
+}
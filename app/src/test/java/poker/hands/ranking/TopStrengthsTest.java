@@ -0,0 +1,82 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TopStrengthsTest {
+
+    @Test
+    void testKeepsStrongest() {
+        int[] strengths = StrengthSortTest.randomStrengths(new Random(13), 20_000);
+        TopStrengths top = new TopStrengths(25);
+        for (int i = 0; i < strengths.length; i++)
+            top.offer(strengths[i], i);
+
+        int[] order = StrengthSort.sortedOrder(strengths);
+        long[] expectedIds = new long[25];
+        int[] expectedStrengths = new int[25];
+        // strongest first, of equal strengths the lower index first
+        for (int i = 0, position = order.length - 1; i < 25; ) {
+            int strength = strengths[order[position]];
+            int first = position;
+            while (first > 0 && strengths[order[first - 1]] == strength)
+                first--;
+            for (int equal = first; equal <= position && i < 25; equal++, i++) {
+                expectedIds[i] = order[equal];
+                expectedStrengths[i] = strength;
+            }
+            position = first - 1;
+        }
+        assertArrayEquals(expectedStrengths, top.strengths());
+        assertArrayEquals(expectedIds, top.ids());
+        assertEquals(expectedStrengths[24], top.threshold());
+        assertEquals(20_000, top.offered());
+    }
+
+    @Test
+    void testKeepsLowerIdsOfEqualStrengths() {
+        TopStrengths top = new TopStrengths(2);
+
+        assertTrue(top.offer(7, 3));
+        assertTrue(top.offer(7, 1));
+        assertTrue(top.offer(7, 2));
+        assertFalse(top.offer(7, 4));
+        assertFalse(top.offer(6, 0));
+
+        assertArrayEquals(new long[]{1, 2}, top.ids());
+        assertArrayEquals(new int[]{7, 7}, top.strengths());
+    }
+
+    @Test
+    void testMerges() {
+        TopStrengths first = new TopStrengths(3);
+        TopStrengths second = new TopStrengths(3);
+        for (int strength : new int[]{4, 9, 1, 8})
+            first.offer(strength, strength);
+        for (int strength : new int[]{2, 10, 3})
+            second.offer(strength, strength);
+
+        first.offerAll(second);
+
+        assertArrayEquals(new int[]{10, 9, 8}, first.strengths());
+        assertEquals(7, first.offered());
+        assertEquals(3, first.size());
+    }
+
+    @Test
+    void testFewerThanK() {
+        TopStrengths top = new TopStrengths(10);
+        top.offer(5, 0);
+        top.offer(9, 1);
+
+        assertArrayEquals(new int[]{9, 5}, top.strengths());
+        assertEquals(5, top.threshold());
+        assertThrows(IllegalStateException.class, () -> new TopStrengths(1).threshold());
+        assertThrows(IllegalArgumentException.class, () -> new TopStrengths(0));
+        assertEquals(0, Arrays.stream(new TopStrengths(1).ids()).count());
+    }
+}
@@ -0,0 +1,116 @@
+package poker.hands.ranking;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import poker.hands.CardMasks;
+import poker.hands.RandomHands;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VectorBatchEvaluatorTest {
+    // not a multiple of any lane count, so the scalar tail is covered as well
+    private static final int HANDS = 3 * BatchEvaluator.PARALLEL_THRESHOLD + 5;
+
+    private static ForkJoinPool pool;
+
+    private final byte[] cards = RandomHands.cardIndices(new Random(42), HANDS);
+    private final long[] masks = new long[HANDS];
+    private final int[] expected = new int[HANDS];
+
+    VectorBatchEvaluatorTest() {
+        for (int hand = 0; hand < HANDS; hand++) {
+            masks[hand] = RandomHands.maskOf(cards, hand);
+            expected[hand] = HandEvaluator.rank(masks[hand]);
+        }
+    }
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(3);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testVectorizedInTests() {
+        // the test task adds the incubator module
+        assertTrue(VectorBatchEvaluator.isVectorized());
+        assertTrue(VectorBatchEvaluator.lanes() > 1);
+    }
+
+    @Test
+    void testMasks() {
+        int[] strengths = new int[HANDS];
+        VectorBatchEvaluator.strengthsOf(masks, strengths);
+        assertArrayEquals(expected, strengths);
+
+        int[] parallelStrengths = new int[HANDS];
+        VectorBatchEvaluator.strengthsOf(masks, parallelStrengths, pool);
+        assertArrayEquals(expected, parallelStrengths);
+    }
+
+    @Test
+    void testByteColumns() {
+        int[] strengths = new int[HANDS];
+        VectorBatchEvaluator.strengthsOf(cards, strengths);
+        assertArrayEquals(expected, strengths);
+
+        int[] parallelStrengths = new int[HANDS];
+        VectorBatchEvaluator.strengthsOf(cards, parallelStrengths, pool);
+        assertArrayEquals(expected, parallelStrengths);
+    }
+
+    @Test
+    void testSevenCards() {
+        Random random = new Random(7);
+        long[] sevenCards = new long[1_003];
+        int[] sevenExpected = new int[sevenCards.length];
+        for (int hand = 0; hand < sevenCards.length; hand++) {
+            sevenCards[hand] = RandomHands.mask(random, 7);
+            sevenExpected[hand] = HandEvaluator.rank(sevenCards[hand]);
+        }
+        int[] strengths = new int[sevenCards.length];
+        VectorBatchEvaluator.strengthsOf(sevenCards, strengths);
+        assertArrayEquals(sevenExpected, strengths);
+    }
+
+    @Test
+    void testStraightsAndFlushes() {
+        long[] special = {
+                0b1_0000_0000_1111L, // straight flush 5-4-3-2-A
+                0b1_1111_0000_0000L << CardMasks.VALUES_PER_SUIT, // royal flush in diamonds
+                0b1_0000_0000_0111L | 1L << 3 + 2 * CardMasks.VALUES_PER_SUIT, // wheel straight
+                0b0_1010_1010_1010L | 1L << 3 * CardMasks.VALUES_PER_SUIT, // flush
+        };
+        int[] strengths = new int[special.length];
+        VectorBatchEvaluator.strengthsOf(special, strengths);
+        assertArrayEquals(Arrays.stream(special).mapToInt(HandEvaluator::rank).toArray(), strengths);
+        assertEquals(RankingCategory.STRAIGHT_FLUSH.ordinal(), strengths[0] >>> Strengths.CATEGORY_SHIFT);
+        assertEquals(RankingCategory.STRAIGHT.ordinal(), strengths[2] >>> Strengths.CATEGORY_SHIFT);
+        assertEquals(RankingCategory.FLUSH.ordinal(), strengths[3] >>> Strengths.CATEGORY_SHIFT);
+    }
+
+    @Test
+    void testScalarKernel() {
+        int[] strengths = new int[HANDS];
+        VectorBatchEvaluator.strengthsOf(VectorBatchEvaluator.SCALAR, cards, strengths, 0, HANDS);
+        assertArrayEquals(expected, strengths);
+        assertEquals(1, VectorBatchEvaluator.SCALAR.lanes());
+    }
+
+    @Test
+    void testIncompleteHand() {
+        assertThrows(IllegalArgumentException.class, () -> VectorBatchEvaluator.strengthsOf(new byte[7], new int[1]));
+    }
+}
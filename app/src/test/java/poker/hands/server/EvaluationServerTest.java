@@ -0,0 +1,213 @@
+package poker.hands.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import poker.hands.Showdown;
+import poker.hands.ranking.BatchEvaluator;
+import poker.hands.ranking.HandEvaluator;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static poker.hands.Card.*;
+import static poker.hands.CardMasks.maskOf;
+import static poker.hands.CardValue.*;
+
+public class EvaluationServerTest {
+    private static final long ROYAL_FLUSH = maskOf(hearts(ACE), hearts(KING), hearts(QUEEN), hearts(JACK), hearts(N10));
+    private static final long FULL_HOUSE = maskOf(clubs(N2), diamonds(N2), spades(N2), hearts(N9), clubs(N9), diamonds(KING), spades(N3));
+    private static final long HIGH_CARD = maskOf(clubs(N2), diamonds(N4), spades(N7), hearts(N9), clubs(JACK));
+
+    @TempDir
+    Path directory;
+
+    private EvaluationServer server;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (server != null)
+            server.close();
+    }
+
+    @Test
+    void testRequestsOverTcp() throws IOException {
+        server = EvaluationServer.start(Protocol.localAddress("0"));
+        assertAnswers(server.address());
+    }
+
+    @Test
+    void testRequestsOverUnixDomainSocket() throws IOException {
+        Path socket = directory.resolve("poker.sock");
+        server = EvaluationServer.start(Protocol.localAddress(socket.toString()));
+        assertEquals(UnixDomainSocketAddress.of(socket), server.address());
+        assertAnswers(server.address());
+
+        server.close();
+        assertFalse(Files.exists(socket));
+    }
+
+    private static void assertAnswers(SocketAddress address) throws IOException {
+        try (EvaluationClient client = EvaluationClient.connect(address)) {
+            assertEquals(HandEvaluator.strengthOf(ROYAL_FLUSH), client.evaluate(ROYAL_FLUSH));
+            assertEquals(HandEvaluator.strengthOf(FULL_HOUSE), client.evaluate(FULL_HOUSE));
+            assertTrue(client.compare(ROYAL_FLUSH, HIGH_CARD) > 0);
+            assertTrue(client.compare(HIGH_CARD, FULL_HOUSE) < 0);
+            assertEquals(0, client.compare(HIGH_CARD, HIGH_CARD));
+
+            long board = maskOf(clubs(N2), diamonds(N7), spades(N9), hearts(KING), clubs(KING));
+            long[] players = {maskOf(spades(ACE), diamonds(ACE)), maskOf(diamonds(KING), clubs(N7)), maskOf(hearts(N3), hearts(N4))};
+            Showdown showdown = client.showdown(board, players);
+            Showdown expected = Showdown.ofMasks(board, players);
+            assertArrayEquals(expected.order(), showdown.order());
+            assertArrayEquals(new int[]{1}, showdown.winners());
+            for (int player = 0; player < players.length; player++)
+                assertEquals(expected.strength(player), showdown.strength(player));
+        }
+    }
+
+    @Test
+    void testRejectedRequestsKeepTheConnection() throws IOException {
+        server = EvaluationServer.start(Protocol.localAddress("0"));
+        try (EvaluationClient client = EvaluationClient.connect(server.address())) {
+            assertThrows(IllegalArgumentException.class, () -> client.evaluate(maskOf(hearts(ACE), hearts(KING), hearts(QUEEN), hearts(JACK))));
+            assertThrows(IllegalArgumentException.class, () -> client.evaluate(ROYAL_FLUSH | 1L << 60));
+            assertThrows(IllegalArgumentException.class, () -> client.compare(ROYAL_FLUSH, 0L));
+            assertThrows(IllegalArgumentException.class,
+                    () -> client.showdown(maskOf(clubs(N2), diamonds(N7), spades(N9)), maskOf(spades(ACE), diamonds(ACE)), maskOf(spades(ACE), diamonds(KING)))); // dealt twice
+            assertThrows(IllegalArgumentException.class, () -> client.showdown(maskOf(clubs(N2), diamonds(N7), spades(N9))));
+
+            assertEquals(HandEvaluator.strengthOf(ROYAL_FLUSH), client.evaluate(ROYAL_FLUSH));
+            Map<String, Long> stats = client.stats();
+            assertEquals(5, stats.get("errors"));
+            assertEquals(6, stats.get("requests")); // without the stats request itself
+            assertEquals(5, server.metrics().getErrors());
+        }
+    }
+
+    @Test
+    void testUnknownRequestClosesTheConnection() throws IOException {
+        server = EvaluationServer.start(Protocol.localAddress("0"));
+        try (SocketChannel channel = SocketChannel.open(server.address())) {
+            DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+            DataInputStream in = new DataInputStream(Channels.newInputStream(channel));
+            out.writeByte(42);
+            assertEquals(Protocol.ERROR, in.readByte());
+            assertEquals("unknown request type 42", in.readUTF());
+            assertThrows(EOFException.class, in::readByte);
+        }
+    }
+
+    @Test
+    void testLoadGenerator() throws IOException, InterruptedException {
+        server = EvaluationServer.start(Protocol.localAddress("0"));
+        LoadGenerator.Report report = new LoadGenerator(server.address(), 16, 500).run(42);
+
+        assertEquals(16 * 500, report.requests());
+        ServerMetrics metrics = server.metrics();
+        assertEquals(16 * 500, metrics.getRequests());
+        assertEquals(0, metrics.getErrors());
+        assertTrue(metrics.getBatchedHands() >= 16 * 500);
+        assertTrue(metrics.getP50LatencyNanos() <= metrics.getP99LatencyNanos());
+    }
+
+    @Test
+    void testWaitingRequestsAreBatched() throws Exception {
+        CountDownLatch evaluating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server = EvaluationServer.start(Protocol.localAddress("0"), EvaluationServer.DEFAULT_MAX_BATCH_HANDS, (masks, strengths) -> {
+            evaluating.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) { // closed
+                Thread.currentThread().interrupt();
+            }
+            BatchEvaluator.strengthsOf(masks, strengths);
+        });
+        ExecutorService clients = Executors.newFixedThreadPool(9);
+        try {
+            Future<Integer> first = clients.submit(() -> evaluate(ROYAL_FLUSH));
+            evaluating.await();
+            List<Future<Integer>> waiting = new ArrayList<>();
+            for (int client = 0; client < 8; client++)
+                waiting.add(clients.submit(() -> evaluate(FULL_HOUSE)));
+            while (server.waitingRequests() < 8)
+                Thread.sleep(1);
+            release.countDown();
+
+            assertEquals(HandEvaluator.strengthOf(ROYAL_FLUSH), first.get());
+            for (Future<Integer> strength : waiting)
+                assertEquals(HandEvaluator.strengthOf(FULL_HOUSE), strength.get());
+            assertEquals(2, server.metrics().getBatches());
+            assertEquals(9, server.metrics().getBatchedHands());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private int evaluate(long hand) throws IOException {
+        try (EvaluationClient client = EvaluationClient.connect(server.address())) {
+            return client.evaluate(hand);
+        }
+    }
+
+    @Test
+    void testClosedServerRefusesConnections() throws IOException {
+        server = EvaluationServer.start(Protocol.localAddress("0"));
+        SocketAddress address = server.address();
+        server.close();
+        assertThrows(IOException.class, () -> EvaluationClient.connect(address));
+    }
+
+    @Test
+    void testClosingServerClosesAcceptedConnections() throws IOException {
+        server = EvaluationServer.start(Protocol.localAddress("0"));
+        List<SocketChannel> channels = new ArrayList<>();
+        try {
+            for (int i = 0; i < 20; i++)
+                channels.add(SocketChannel.open(server.address()));
+            server.close(); // while the server still accepts some of them
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                for (SocketChannel channel : channels)
+                    assertEquals(-1, readClosed(channel));
+            });
+        } finally {
+            for (SocketChannel channel : channels)
+                channel.close();
+        }
+    }
+
+    @Test
+    void testLocalAddress() {
+        assertTrue(Protocol.localAddress("7000").toString().endsWith(":7000"));
+        assertEquals(UnixDomainSocketAddress.of("/tmp/poker.sock"), Protocol.localAddress("/tmp/poker.sock"));
+        assertThrows(IllegalArgumentException.class, () -> Protocol.localAddress("70000"));
+    }
+
+    /* -1 at the end of the stream, also if the server reset the connection */
+    private static int readClosed(SocketChannel channel) {
+        try {
+            return channel.read(ByteBuffer.allocate(1));
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
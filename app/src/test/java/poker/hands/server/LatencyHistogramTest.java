@@ -0,0 +1,41 @@
+package poker.hands.server;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+    @Test
+    void testBucketsCoverAllLatencies() {
+        for (long nanos = 0; nanos < 100_000; nanos++) {
+            int bucket = LatencyHistogram.bucketOf(nanos);
+            assertTrue(nanos <= LatencyHistogram.upperBoundOf(bucket), "bucket " + bucket + " of " + nanos);
+            assertTrue(bucket == 0 || nanos > LatencyHistogram.upperBoundOf(bucket - 1), "bucket " + bucket + " of " + nanos);
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(Long.MAX_VALUE)));
+        assertEquals(0, LatencyHistogram.bucketOf(-5));
+    }
+
+    @Test
+    void testPercentilesWithinAnEighth() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1_000; micros++)
+            histogram.record(micros * 1_000);
+
+        assertEquals(1_000, histogram.count());
+        long p50 = histogram.percentile(0.5);
+        long p99 = histogram.percentile(0.99);
+        assertTrue(p50 >= 500_000 && p50 <= 500_000 * 9 / 8, "p50 " + p50);
+        assertTrue(p99 >= 990_000 && p99 <= 990_000 * 9 / 8, "p99 " + p99);
+        assertTrue(histogram.percentile(1) >= 1_000_000);
+        assertEquals(LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(1_000)), histogram.percentile(0));
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, new LatencyHistogram().percentile(0.99));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram().percentile(1.5));
+    }
+}
@@ -0,0 +1,123 @@
+package poker.hands.server;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.RandomHands;
+import poker.hands.ranking.BatchEvaluator;
+import poker.hands.ranking.HandEvaluator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MicroBatcherTest {
+    @Test
+    void testStrengthsOfConcurrentRequests() {
+        ServerMetrics metrics = new ServerMetrics();
+        Random random = new Random(42);
+        List<long[]> requests = new ArrayList<>();
+        List<CompletableFuture<int[]>> results = new ArrayList<>();
+        try (MicroBatcher batcher = new MicroBatcher(64, metrics)) {
+            for (int request = 0; request < 1_000; request++) {
+                long[] masks = new long[1 + random.nextInt(Protocol.MAX_PLAYERS)];
+                for (int hand = 0; hand < masks.length; hand++)
+                    masks[hand] = RandomHands.mask(random, 7);
+                requests.add(masks);
+                results.add(batcher.strengthsOf(masks));
+            }
+            long hands = 0;
+            for (int request = 0; request < requests.size(); request++) {
+                long[] masks = requests.get(request);
+                int[] strengths = results.get(request).join();
+                assertEquals(masks.length, strengths.length);
+                for (int hand = 0; hand < masks.length; hand++)
+                    assertEquals(HandEvaluator.strengthOf(masks[hand]), strengths[hand]);
+                hands += masks.length;
+            }
+            assertEquals(hands, metrics.getBatchedHands());
+            assertTrue(metrics.getAverageBatchSize() <= 64);
+        }
+    }
+
+    @Test
+    void testWaitingRequestsShareBatches() throws InterruptedException {
+        ServerMetrics metrics = new ServerMetrics();
+        CountDownLatch evaluating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (MicroBatcher batcher = new MicroBatcher(64, metrics, (masks, strengths) -> {
+            evaluating.countDown();
+            awaitRelease(release);
+            BatchEvaluator.strengthsOf(masks, strengths);
+        })) {
+            CompletableFuture<int[]> first = batcher.strengthsOf(0x1FL);
+            evaluating.await();
+            List<CompletableFuture<int[]>> waiting = new ArrayList<>();
+            for (int request = 0; request < 3; request++)
+                waiting.add(batcher.strengthsOf(flushes(12)));
+            for (int request = 0; request < 3; request++)
+                waiting.add(batcher.strengthsOf(0x1FL));
+            release.countDown();
+
+            assertEquals(1, first.join().length);
+            waiting.forEach(CompletableFuture::join);
+            // the waiting 3 * 12 + 3 hands fit into one batch
+            assertEquals(2, metrics.getBatches());
+            assertEquals(1 + 3 * 12 + 3, metrics.getBatchedHands());
+        }
+    }
+
+    @Test
+    void testBatchesHoldAtMostMaxHands() throws InterruptedException {
+        ServerMetrics metrics = new ServerMetrics();
+        CountDownLatch evaluating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (MicroBatcher batcher = new MicroBatcher(Protocol.MAX_PLAYERS, metrics, (masks, strengths) -> {
+            evaluating.countDown();
+            awaitRelease(release);
+        })) {
+            CompletableFuture<int[]> first = batcher.strengthsOf(0x1FL);
+            evaluating.await();
+            List<CompletableFuture<int[]>> waiting = new ArrayList<>();
+            for (int request = 0; request < 3; request++)
+                waiting.add(batcher.strengthsOf(flushes(Protocol.MAX_PLAYERS)));
+            assertEquals(3, batcher.waiting());
+            release.countDown();
+
+            first.join();
+            waiting.forEach(CompletableFuture::join);
+            assertEquals(1 + 3, metrics.getBatches());
+        }
+    }
+
+    private static long[] flushes(int hands) {
+        long[] masks = new long[hands];
+        Arrays.fill(masks, 0x1FL);
+        return masks;
+    }
+
+    private static void awaitRelease(CountDownLatch release) {
+        try {
+            release.await();
+        } catch (InterruptedException e) { // closed
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testClosedBatcherFailsRequests() {
+        MicroBatcher batcher = new MicroBatcher(64, new ServerMetrics());
+        batcher.close();
+        CompletableFuture<int[]> result = batcher.strengthsOf(0x1FL);
+        assertThrows(CompletionException.class, result::join);
+    }
+
+    @Test
+    void testBatchHoldsAShowdown() {
+        assertThrows(IllegalArgumentException.class, () -> new MicroBatcher(Protocol.MAX_PLAYERS - 1, new ServerMetrics()));
+    }
+}
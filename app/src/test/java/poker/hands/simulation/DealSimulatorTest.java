@@ -0,0 +1,88 @@
+package poker.hands.simulation;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.ranking.EvaluationMetrics;
+import poker.hands.ranking.RankingCategory;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DealSimulatorTest {
+    private final DealSimulator simulator = new DealSimulator(6, 42);
+
+    @Test
+    void testRunsAreReplayedOnAnyPool() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        ForkJoinPool singleThreaded = new ForkJoinPool(1);
+        try {
+            SimulationStatistics statistics = simulator.run(8, 2_000, pool);
+            assertEquals(16_000, statistics.hands());
+            assertEquals(statistics, new DealSimulator(6, 42).run(8, 2_000, singleThreaded));
+            assertNotEquals(statistics, new DealSimulator(6, 43).run(8, 2_000, pool));
+        } finally {
+            pool.shutdown();
+            singleThreaded.shutdown();
+        }
+    }
+
+    @Test
+    void testTablesAreReplayedAlone() {
+        SimulationStatistics tables = new SimulationStatistics(6);
+        for (int table = 0; table < 5; table++)
+            tables.addAll(simulator.runTable(table, 1_000));
+        assertEquals(simulator.run(5, 1_000), tables);
+        assertNotEquals(simulator.tableSeed(0), simulator.tableSeed(1));
+    }
+
+    @Test
+    void testSevenCardFrequencies() {
+        SimulationStatistics statistics = simulator.run(16, 10_000);
+        // the known frequencies of seven card hands
+        assertEquals(0.438, statistics.frequency(RankingCategory.PAIR), 0.005);
+        assertEquals(0.235, statistics.frequency(RankingCategory.TWO_PAIRS), 0.005);
+        assertEquals(0.174, statistics.frequency(RankingCategory.HIGH_CARD), 0.005);
+        assertEquals(0.0303, statistics.frequency(RankingCategory.FLUSH), 0.002);
+        assertEquals(0.0462, statistics.frequency(RankingCategory.STRAIGHT), 0.002);
+        long all = 0;
+        for (RankingCategory category : RankingCategory.values())
+            all += statistics.count(category);
+        assertEquals(statistics.hands() * 6, all);
+    }
+
+    @Test
+    void testSeatsWinEqually() {
+        SimulationStatistics statistics = simulator.run(16, 10_000);
+        double total = 0;
+        for (int seat = 0; seat < 6; seat++) {
+            assertEquals(1.0 / 6, statistics.winRate(seat), 0.01);
+            total += statistics.winRate(seat);
+        }
+        assertEquals(1, total, 1e-9);
+    }
+
+    @Test
+    void testNoEvaluationMetrics() {
+        EvaluationMetrics metrics = EvaluationMetrics.enable();
+        try {
+            simulator.runTable(0, 1_000);
+            assertEquals(0, metrics.getEvaluations());
+        } finally {
+            EvaluationMetrics.disable();
+        }
+    }
+
+    @Test
+    void testInvalidRuns() {
+        assertThrows(IllegalArgumentException.class, () -> new DealSimulator(1, 42));
+        assertThrows(IllegalArgumentException.class, () -> new DealSimulator(DealSimulator.MAX_PLAYERS + 1, 42));
+        assertThrows(IllegalArgumentException.class, () -> simulator.run(0, 10));
+        assertEquals(0, simulator.run(2, 0).hands());
+    }
+
+    @Test
+    void testFullTable() {
+        SimulationStatistics statistics = new DealSimulator(DealSimulator.MAX_PLAYERS, 7).run(2, 1_000);
+        assertEquals(2_000, statistics.hands());
+    }
+}
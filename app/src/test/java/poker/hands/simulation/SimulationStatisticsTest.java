@@ -0,0 +1,51 @@
+package poker.hands.simulation;
+
+import org.junit.jupiter.api.Test;
+import poker.hands.ranking.RankingCategory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static poker.hands.CardValue.*;
+import static poker.hands.ranking.Rankings.*;
+
+public class SimulationStatisticsTest {
+    @Test
+    void testWinsAndSplits() {
+        int pairOfAces = pairOfWithRemainingCards(ACE, List.of(KING, N9, N4)).strength();
+        int flush = flush(List.of(ACE, KING, N9, N4, N2)).strength();
+        SimulationStatistics statistics = new SimulationStatistics(3);
+        statistics.add(new int[]{flush, pairOfAces, pairOfAces});
+        statistics.add(new int[]{pairOfAces, pairOfAces, pairOfAces});
+        statistics.add(new int[]{pairOfAces, flush, flush});
+
+        assertEquals(3, statistics.hands());
+        assertEquals(1, statistics.wins(0));
+        assertEquals(1, statistics.splits(0));
+        assertEquals(2, statistics.splits(1));
+        assertEquals((1 + 1 / 3.0) / 3, statistics.winRate(0), 1e-12);
+        assertEquals((1 / 3.0 + 1 / 2.0) / 3, statistics.winRate(1), 1e-12);
+        assertEquals(6, statistics.count(RankingCategory.PAIR));
+        assertEquals(3, statistics.count(RankingCategory.FLUSH));
+        assertEquals(2, statistics.winningCount(RankingCategory.FLUSH));
+        assertEquals(1, statistics.winningCount(RankingCategory.PAIR));
+        assertEquals(6 / 9.0, statistics.frequency(RankingCategory.PAIR), 1e-12);
+    }
+
+    @Test
+    void testMergedInAnyOrder() {
+        SimulationStatistics first = new SimulationStatistics(2);
+        first.add(new int[]{1, 2});
+        SimulationStatistics second = new SimulationStatistics(2);
+        second.add(new int[]{3, 3});
+
+        SimulationStatistics forward = new SimulationStatistics(2);
+        forward.addAll(first);
+        forward.addAll(second);
+        SimulationStatistics backward = new SimulationStatistics(2);
+        backward.addAll(second);
+        backward.addAll(first);
+        assertEquals(forward, backward);
+        assertEquals(0.75, forward.winRate(1), 1e-12);
+    }
+}
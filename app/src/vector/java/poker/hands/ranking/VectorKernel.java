@@ -0,0 +1,213 @@
+package poker.hands.ranking;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+import poker.hands.CardMasks;
+
+import static jdk.incubator.vector.VectorOperators.*;
+import static poker.hands.ranking.RankingCategory.*;
+
+/* the SIMD lanes of VectorBatchEvaluator, one hand mask per long lane; loaded by reflection, so that nothing else
+refers to the incubator module. The same steps as HandEvaluator.rank, lane wise and without branches: the values of
+the four suits give the values histogram, the suit with five cards (of at most seven, so there is at most one) gives
+the flush values. Then every category of the chain is checked in all lanes, and where it applies, its header and
+values are blended over those of the categories below it: the header holds the number of slots of the category (see
+Strengths) and how many of them are taken from the leading values (e.g. the pairs of two pairs), the others are taken
+from the remaining ones (e.g. all values for the kicker). Finally the highest values are packed into the slots, and
+each taken value is cleared from both, so a kicker is never a value already counted.
+The steps are separate passes over chunks of hands: the JIT only keeps vectors in registers as long as it inlines all
+vector operations of a loop, which it stops doing in a long one. The columns between the passes are held per thread,
+so a call doesn't allocate
+ */
+final class VectorKernel implements VectorBatchEvaluator.Kernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    // the same lanes as doubles and ints, see pack
+    private static final VectorSpecies<Double> DOUBLE_SPECIES = SPECIES.withLanes(double.class);
+    private static final VectorSpecies<Integer> INT_SPECIES = VectorSpecies.of(int.class, VectorShape.forBitSize(SPECIES.vectorBitSize() / 2));
+    private static final LongVector ONES = LongVector.broadcast(SPECIES, 1L);
+    // hands per pass, a multiple of the lanes
+    private static final int CHUNK = 256;
+    private static final int SUIT_BITS = CardMasks.VALUES_PER_SUIT;
+    private static final long VALUE_MASK = CardMasks.SUIT_VALUES_MASK;
+    private static final int ACE = CardMasks.VALUES_PER_SUIT - 1;
+    private static final int STRAIGHT_LENGTH = 5;
+    // the suits' values in 16 bit fields, counted all at once: a field holds at most 7, so adding 3 sets its bit 3 from 5
+    private static final int FIELD_BITS = 16;
+    private static final long FIELDS_LOW_BITS = 0x0001_0001_0001_0001L;
+    private static final long FIVE_CARDS_CARRY = 3 * FIELDS_LOW_BITS;
+    private static final int FIVE_CARDS_BIT = 3;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+    // the header of a lane (see header) above the 32 bits of the strength, dropped when narrowed to an int
+    private static final int SLOTS_SHIFT = Integer.SIZE;
+    private static final int LEADING_SHIFT = SLOTS_SHIFT + 4;
+    private static final long SLOTS_FIELD = 0xFL << SLOTS_SHIFT;
+    private static final long HIGH_CARD_HEADER = header(HIGH_CARD, 0);
+    private static final long PAIR_HEADER = header(PAIR, 1);
+    private static final long TWO_PAIRS_HEADER = header(TWO_PAIRS, 2);
+    private static final long THREE_OF_A_KIND_HEADER = header(THREE_OF_A_KIND, 1);
+    private static final long STRAIGHT_HEADER = header(STRAIGHT, 1);
+    private static final long FLUSH_HEADER = header(FLUSH, 0);
+    private static final long FULL_HOUSE_HEADER = header(FULL_HOUSE, 1);
+    private static final long FOUR_OF_A_KIND_HEADER = header(FOUR_OF_A_KND, 1);
+    private static final long STRAIGHT_FLUSH_HEADER = header(STRAIGHT_FLUSH, 1);
+    // the exponent of a double, see pack
+    private static final int EXPONENT_SHIFT = 52;
+    private static final long SLOT_OF_ONE = 1022;
+    private static final ThreadLocal<Columns> COLUMNS = ThreadLocal.withInitial(Columns::new);
+
+    VectorKernel() {
+    }
+
+    /* the values masks of a chunk of hands between the passes */
+    private static final class Columns {
+        final long[] once = new long[CHUNK];
+        final long[] twice = new long[CHUNK];
+        final long[] thrice = new long[CHUNK];
+        final long[] fourTimes = new long[CHUNK];
+        final long[] flush = new long[CHUNK];
+        final long[] header = new long[CHUNK];
+        final long[] leading = new long[CHUNK];
+        final long[] remaining = new long[CHUNK];
+    }
+
+    @Override
+    public void strengthsOf(long[] masks, int[] strengths, int from, int to) {
+        Columns columns = COLUMNS.get();
+        int end = from + SPECIES.loopBound(to - from);
+        for (int hand = from; hand < end; hand += CHUNK) {
+            int hands = Math.min(CHUNK, end - hand);
+            histograms(masks, hand, hands, columns);
+            categories(hands, columns);
+            pack(hands, columns, strengths, hand);
+        }
+        for (int hand = end; hand < to; hand++)
+            strengths[hand] = HandEvaluator.rank(masks[hand]);
+    }
+
+    @Override
+    public int lanes() {
+        return LANES;
+    }
+
+    /* the values histograms and flush values of the hands from the first one, see HandEvaluator.rank */
+    private static void histograms(long[] masks, int first, int hands, Columns columns) {
+        for (int lane = 0; lane < hands; lane += LANES) {
+            LongVector cards = LongVector.fromArray(SPECIES, masks, first + lane);
+            LongVector clubs = cards.and(VALUE_MASK);
+            LongVector diamonds = cards.lanewise(LSHR, SUIT_BITS).and(VALUE_MASK);
+            LongVector hearts = cards.lanewise(LSHR, 2 * SUIT_BITS).and(VALUE_MASK);
+            LongVector spades = cards.lanewise(LSHR, 3 * SUIT_BITS).and(VALUE_MASK);
+            // the values histogram follows from the suits a value occurs in
+            LongVector clubsAndDiamonds = clubs.and(diamonds);
+            LongVector heartsAndSpades = hearts.and(spades);
+            LongVector clubsOrDiamonds = clubs.or(diamonds);
+            LongVector heartsOrSpades = hearts.or(spades);
+            clubsOrDiamonds.or(heartsOrSpades).intoArray(columns.once, lane);
+            clubsAndDiamonds.or(heartsAndSpades).or(clubsOrDiamonds.and(heartsOrSpades)).intoArray(columns.twice, lane);
+            clubsAndDiamonds.and(heartsOrSpades).or(heartsAndSpades.and(clubsOrDiamonds)).intoArray(columns.thrice, lane);
+            clubsAndDiamonds.and(heartsAndSpades).intoArray(columns.fourTimes, lane);
+
+            LongVector suits = clubs.or(diamonds.lanewise(LSHL, FIELD_BITS))
+                    .or(hearts.lanewise(LSHL, 2 * FIELD_BITS)).or(spades.lanewise(LSHL, 3 * FIELD_BITS));
+            LongVector counts = suits.sub(suits.lanewise(LSHR, 1).and(0x5555_5555_5555_5555L));
+            counts = counts.and(0x3333_3333_3333_3333L).add(counts.lanewise(LSHR, 2).and(0x3333_3333_3333_3333L));
+            counts = counts.add(counts.lanewise(LSHR, 4)).and(0x0F0F_0F0F_0F0F_0F0FL);
+            counts = counts.add(counts.lanewise(LSHR, 8)).and(0x00FF_00FF_00FF_00FFL);
+            LongVector flushField = counts.add(FIVE_CARDS_CARRY).lanewise(LSHR, FIVE_CARDS_BIT).and(FIELDS_LOW_BITS).mul(FIELD_MASK);
+            LongVector flush = suits.and(flushField);
+            flush.or(flush.lanewise(LSHR, FIELD_BITS)).or(flush.lanewise(LSHR, 2 * FIELD_BITS)).or(flush.lanewise(LSHR, 3 * FIELD_BITS))
+                    .and(VALUE_MASK).intoArray(columns.flush, lane);
+        }
+    }
+
+    /* HandEvaluator.strengthOf lane wise, from the high card up to the straight flush */
+    private static void categories(int hands, Columns columns) {
+        for (int lane = 0; lane < hands; lane += LANES) {
+            LongVector once = LongVector.fromArray(SPECIES, columns.once, lane);
+            LongVector twice = LongVector.fromArray(SPECIES, columns.twice, lane);
+            LongVector thrice = LongVector.fromArray(SPECIES, columns.thrice, lane);
+            LongVector fourTimes = LongVector.fromArray(SPECIES, columns.fourTimes, lane);
+            LongVector flush = LongVector.fromArray(SPECIES, columns.flush, lane);
+            LongVector header = LongVector.broadcast(SPECIES, HIGH_CARD_HEADER);
+            LongVector leading = twice;
+            LongVector remaining = once;
+
+            VectorMask<Long> hasPairs = twice.and(twice.sub(1)).compare(NE, 0); // more than one bit
+            VectorMask<Long> hasThree = thrice.compare(NE, 0);
+            header = header.blend(PAIR_HEADER, twice.compare(NE, 0));
+            header = header.blend(TWO_PAIRS_HEADER, hasPairs);
+            header = header.blend(THREE_OF_A_KIND_HEADER, hasThree);
+            leading = leading.blend(thrice, hasThree);
+
+            LongVector straights = straightEnds(once);
+            VectorMask<Long> applies = straights.compare(NE, 0);
+            header = header.blend(STRAIGHT_HEADER, applies);
+            leading = leading.blend(straights, applies);
+
+            applies = flush.compare(NE, 0);
+            header = header.blend(FLUSH_HEADER, applies);
+            remaining = remaining.blend(flush, applies);
+
+            // a three of a kind and another pair (or a second three of a kind, counting as the pair)
+            applies = hasThree.and(hasPairs);
+            header = header.blend(FULL_HOUSE_HEADER, applies);
+            leading = leading.blend(thrice, applies);
+            remaining = remaining.blend(twice, applies);
+
+            applies = fourTimes.compare(NE, 0);
+            header = header.blend(FOUR_OF_A_KIND_HEADER, applies);
+            leading = leading.blend(fourTimes, applies);
+            remaining = remaining.blend(once, applies);
+
+            LongVector straightFlushes = straightEnds(flush);
+            applies = straightFlushes.compare(NE, 0);
+            header = header.blend(STRAIGHT_FLUSH_HEADER, applies);
+            leading = leading.blend(straightFlushes, applies);
+
+            header.intoArray(columns.header, lane);
+            leading.intoArray(columns.leading, lane);
+            remaining.intoArray(columns.remaining, lane);
+        }
+    }
+
+    /* the highest values into the slots of the strengths, as Strengths.of */
+    private static void pack(int hands, Columns columns, int[] strengths, int first) {
+        for (int lane = 0; lane < hands; lane += LANES) {
+            LongVector header = LongVector.fromArray(SPECIES, columns.header, lane);
+            LongVector leading = LongVector.fromArray(SPECIES, columns.leading, lane);
+            LongVector remaining = LongVector.fromArray(SPECIES, columns.remaining, lane);
+            LongVector slotCount = header.and(SLOTS_FIELD);
+            LongVector strength = header;
+            for (int slot = 0; slot < Strengths.SLOTS; slot++) {
+                LongVector values = remaining.blend(leading, header.compare(GE, (long) (slot + 1) << LEADING_SHIFT));
+                // as a double, the values keep the highest one in the exponent: 1023 + n for bit n
+                LongVector slots = values.convertShape(L2D, DOUBLE_SPECIES, 0).reinterpretAsLongs()
+                        .lanewise(LSHR, EXPONENT_SHIFT).sub(SLOT_OF_ONE).max(0L);
+                LongVector highest = ONES.lanewise(LSHL, slots).lanewise(LSHR, 1);
+                leading = leading.lanewise(AND_NOT, highest);
+                remaining = remaining.lanewise(AND_NOT, highest);
+                int shift = Strengths.CATEGORY_SHIFT - Strengths.SLOT_BITS * (slot + 1);
+                strength = strength.or(slots.lanewise(LSHL, shift).blend(0L, slotCount.compare(LE, (long) slot << SLOTS_SHIFT)));
+            }
+            strength.convertShape(L2I, INT_SPECIES, 0).reinterpretAsInts().intoArray(strengths, first + lane);
+        }
+    }
+
+    /* the category with its number of slots and how many of them hold leading values */
+    private static long header(RankingCategory category, int leadingSlots) {
+        return (long) leadingSlots << LEADING_SHIFT | (long) Strengths.valuesPerCategory(category) << SLOTS_SHIFT
+                | (long) category.ordinal() << Strengths.CATEGORY_SHIFT;
+    }
+
+    /* see HandEvaluator.straightEnds */
+    private static LongVector straightEnds(LongVector values) {
+        LongVector withLowAce = values.lanewise(LSHL, 1).or(values.lanewise(LSHR, ACE).and(1L));
+        LongVector ends = withLowAce;
+        for (int i = 1; i < STRAIGHT_LENGTH; i++)
+            ends = ends.and(withLowAce.lanewise(LSHL, i));
+        return ends.lanewise(LSHR, 1);
+    }
+}